@@ -0,0 +1,18 @@
+/**
+ * ESCENARIO - Decodificar un sprite con 'GameObject.loadSprite()'.
+ * Variante: la ruta del recurso (ej. "/Right - Running_000.png").
+ */
+public class EscenarioCargaSprite implements bench.Escenario {
+
+    private String ruta;
+
+    @Override
+    public void preparar(int cantidad, String variante) {
+        ruta = variante;
+    }
+
+    @Override
+    public int ejecutar() {
+        return GameObject.loadSprite(ruta).getWidth();
+    }
+}
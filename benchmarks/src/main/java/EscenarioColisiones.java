@@ -0,0 +1,19 @@
+/**
+ * ESCENARIO - 'GameWorld.checkColisiones()'.
+ * Variantes: "objetos" (lista + grilla) o "soa" (arrays del 'AlmacenEnemigos').
+ */
+public class EscenarioColisiones implements bench.Escenario {
+
+    private GameWorld mundo;
+
+    @Override
+    public void preparar(int cantidad, String variante) {
+        mundo = MundoDePrueba.crear(cantidad, variante.equals("soa"));
+    }
+
+    @Override
+    public int ejecutar() {
+        mundo.checkColisiones();
+        return mundo.getJugador().getVidas();
+    }
+}
@@ -0,0 +1,26 @@
+/**
+ * ESCENARIO - Un tick de todos los enemigos ('Enemigo.actualizar()', con su 'ejecutarIA()').
+ * Variantes: "objetos" (un 'actualizar()' por enemigo) o "soa" ('AlmacenEnemigos.actualizar()').
+ */
+public class EscenarioEnemigos implements bench.Escenario {
+
+    private GameWorld mundo;
+    private boolean soa;
+
+    @Override
+    public void preparar(int cantidad, String variante) {
+        soa = variante.equals("soa");
+        mundo = MundoDePrueba.crear(cantidad, soa);
+    }
+
+    @Override
+    public int ejecutar() {
+        if (soa) {
+            return mundo.almacen.actualizar(mundo.jugador) + mundo.almacen.getCantidad();
+        }
+        for (int i = 0; i < mundo.enemigos.size(); i++) {
+            mundo.enemigos.get(i).actualizar();
+        }
+        return mundo.enemigos.size();
+    }
+}
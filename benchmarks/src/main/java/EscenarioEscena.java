@@ -0,0 +1,56 @@
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * ESCENARIO - Un frame de la partida con 'cantidad' personajes (jugador + enemigos).
+ * Variantes:
+ * - "describir": el Game Loop anota todo en una 'Instantanea' ('GameWorld.describir()').
+ * - "dibujar": el hilo que dibuja copia la instantánea a una imagen de 1024x768
+ *   ('Instantanea.dibujar()' con sprites del 'SpriteAtlas', mitad reflejados).
+ */
+public class EscenarioEscena implements bench.Escenario {
+
+    private GameWorld mundo;
+    private final Instantanea inst = new Instantanea();
+    private boolean dibujar;
+
+    private SpriteAtlas atlas;
+    private Graphics2D g;
+
+    @Override
+    public void preparar(int cantidad, String variante) {
+        mundo = MundoDePrueba.crear(Math.max(0, cantidad - 1), false);
+        dibujar = variante.equals("dibujar");
+        if (!dibujar) return;
+
+        // Sin 'SpriteRegistry' los personajes no tienen frames: se arma la
+        // instantánea a mano, con un frame real y las posiciones del mundo
+        atlas = new SpriteAtlas(mundo.tileSize);
+        int frame = atlas.agregar(GameObject.loadSprite("/Right - Running_000.png"));
+        int espejo = atlas.agregarEspejo(frame);
+
+        inst.limpiar();
+        Jugador j = mundo.jugador;
+        inst.sprite(frame, j.getX() - 2, j.getY(), j.getX(), j.getY(), 1.0f, Color.WHITE);
+        inst.caja(20, 16, 72, 80, Color.GREEN);
+        for (int i = 0; i < mundo.enemigos.size(); i++) {
+            Enemigo e = mundo.enemigos.get(i);
+            inst.sprite((i % 2 == 0) ? frame : espejo, e.getX() + 2, e.getY(), e.getX(), e.getY(), 1.0f, Color.MAGENTA);
+            inst.caja(20, 16, 72, 80, Color.RED);
+        }
+
+        BufferedImage destino = new BufferedImage(1024, 768, BufferedImage.TYPE_INT_RGB);
+        g = destino.createGraphics();
+    }
+
+    @Override
+    public int ejecutar() {
+        if (dibujar) {
+            inst.dibujar(g, atlas, mundo.tileSize, 0.5);
+        } else {
+            mundo.describir(inst, 0L);
+        }
+        return inst.getCantidad();
+    }
+}
@@ -0,0 +1,22 @@
+/**
+ * ESCENARIO - Disparar un efecto con 'Sound.playSound()' y enviarlo al
+ * mezclador al "final del tick" ('SoundBank.finDeTick()').
+ * Variante: la ruta del efecto (ej. "/sounds/ataque-golpe_01.wav").
+ */
+public class EscenarioSonido implements bench.Escenario {
+
+    private String ruta;
+
+    @Override
+    public void preparar(int cantidad, String variante) {
+        ruta = variante;
+        SoundBank.global().cargar(); // Sin dispositivo de audio, los disparos se descartan enseguida
+    }
+
+    @Override
+    public int ejecutar() {
+        Sound.playSound(ruta, 1.0f);
+        SoundBank.global().finDeTick();
+        return SoundBank.global().getVocesActivas();
+    }
+}
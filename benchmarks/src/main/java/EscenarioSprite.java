@@ -0,0 +1,83 @@
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * ESCENARIO - Copiar UN sprite de personaje (480x480 en el PNG) a una imagen de 1024x768.
+ * Variante "formato/escala":
+ * - formato "nativo": la imagen tal como la devuelve ImageIO (bytes ABGR).
+ *   formato "compatible": convertida a ARGB premultiplicado (como el 'SpriteAtlas').
+ * - escala "escalado": se escala a 'tileSize' en cada copia (como antes del atlas).
+ *   escala "sin-escalar": ya escalada de antemano; la copia es 1:1.
+ */
+public class EscenarioSprite implements bench.Escenario {
+
+    static final String RUTA = "/Right - Running_000.png";
+
+    private BufferedImage sprite;
+    private boolean escalar;
+    private int tamano;
+    private Graphics2D g;
+
+    @Override
+    public void preparar(int cantidad, String variante) {
+        String[] partes = variante.split("/");
+        tamano = GameWorld.TILE_SIZE;
+        escalar = partes[1].equals("escalado");
+
+        BufferedImage original = leer();
+        if (partes[0].equals("compatible")) {
+            original = convertir(original, BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+        sprite = escalar ? original : escalar(original, tamano);
+
+        BufferedImage destino = new BufferedImage(1024, 768, BufferedImage.TYPE_INT_RGB);
+        g = destino.createGraphics();
+    }
+
+    @Override
+    public int ejecutar() {
+        if (escalar) {
+            g.drawImage(sprite, 100, 600, tamano, tamano, null);
+        } else {
+            g.drawImage(sprite, 100, 600, null);
+        }
+        return sprite.getWidth();
+    }
+
+    // Directo con ImageIO (no 'loadSprite'): un 'sprites.pack' ya vendría escalado
+    private static BufferedImage leer() {
+        try (InputStream in = EscenarioSprite.class.getResourceAsStream(RUTA)) {
+            return ImageIO.read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static BufferedImage convertir(BufferedImage original, int tipo) {
+        BufferedImage copia = new BufferedImage(original.getWidth(), original.getHeight(), tipo);
+        Graphics2D gc = copia.createGraphics();
+        gc.drawImage(original, 0, 0, null);
+        gc.dispose();
+        return copia;
+    }
+
+    /**
+     * Escala conservando el formato de 'original' (sea cual sea).
+     */
+    private static BufferedImage escalar(BufferedImage original, int tamano) {
+        ColorModel cm = original.getColorModel();
+        BufferedImage escalada = new BufferedImage(cm, cm.createCompatibleWritableRaster(tamano, tamano),
+                cm.isAlphaPremultiplied(), null);
+        Graphics2D ge = escalada.createGraphics();
+        ge.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        ge.drawImage(original, 0, 0, tamano, tamano, null);
+        ge.dispose();
+        return escalada;
+    }
+}
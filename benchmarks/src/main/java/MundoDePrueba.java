@@ -0,0 +1,43 @@
+import java.util.Random;
+
+/**
+ * Ayudante de los escenarios: arma un 'GameWorld' sin gráficos ni sonido con
+ * 'enemigos' enemigos repartidos por toda la pantalla (siempre los mismos,
+ * semilla fija), con sus hitboxes y la grilla ya al día.
+ */
+final class MundoDePrueba {
+
+    private MundoDePrueba() {}
+
+    /**
+     * @param soa 'true' para guardar los enemigos en el 'AlmacenEnemigos'.
+     */
+    static GameWorld crear(int enemigos, boolean soa) {
+        // El mundo elige lista o almacén al construirse, leyendo esta propiedad
+        String anterior = System.getProperty("enemigos.soa");
+        System.setProperty("enemigos.soa", Boolean.toString(soa));
+        GameWorld mundo;
+        try {
+            mundo = new GameWorld(1);
+        } finally {
+            if (anterior == null) System.clearProperty("enemigos.soa");
+            else System.setProperty("enemigos.soa", anterior);
+        }
+        mundo.setConMensajes(false);
+        mundo.setMaxEnemigosEnPantalla(0); // No aparece nadie más durante la medición
+        mundo.setUmbralParalelo(0);        // Un solo hilo: se mide el costo, no el reparto
+
+        Random rand = new Random(1);
+        for (int i = 0; i < enemigos; i++) {
+            int x = rand.nextInt(mundo.ancho + 2 * mundo.tileSize) - mundo.tileSize;
+            if (soa) {
+                mundo.almacen.agregar(rand.nextBoolean() ? AlmacenEnemigos.MASCULINO : AlmacenEnemigos.FEMENINO,
+                        x, GameWorld.SUELO_Y);
+            } else {
+                mundo.enemigos.add(mundo.pool.obtener(GameWorld.TIPOS_ENEMIGO[rand.nextInt(2)], x, GameWorld.SUELO_Y));
+            }
+        }
+        mundo.paso(m -> 0); // Un tick sin botones: hitboxes y grilla al día
+        return mundo;
+    }
+}
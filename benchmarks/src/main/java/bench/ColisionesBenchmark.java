@@ -0,0 +1,46 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 'GameWorld.checkColisiones()' (fase amplia con la grilla + fase precisa)
+ * con distintas cantidades de enemigos repartidos por la pantalla.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ColisionesBenchmark {
+
+    @Param({"2", "50", "500", "5000"})
+    int enemigos;
+
+    @Param({"objetos", "soa"})
+    String modo;
+
+    private Escenario escenario;
+
+    @Setup
+    public void preparar() {
+        escenario = Escenario.crear("EscenarioColisiones", enemigos, modo);
+    }
+
+    @Benchmark
+    public int checkColisiones() {
+        return escenario.ejecutar();
+    }
+}
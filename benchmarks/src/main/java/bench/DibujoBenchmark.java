@@ -0,0 +1,74 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * El dibujado, sobre una 'BufferedImage' fuera de pantalla:
+ * - 'escena': lo que hace un frame con N personajes. "describir" es el lado
+ *   del Game Loop ('Jugador/Enemigo.describir()' a una 'Instantanea'),
+ *   "dibujar" el del hilo que dibuja ('Instantanea.dibujar()' con el atlas).
+ * - 'sprite': copiar UN sprite según su formato y si se escala al dibujar
+ *   (el PNG tal como lo da ImageIO vs. ARGB premultiplicado, como el atlas).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class DibujoBenchmark {
+
+    @State(Scope.Thread)
+    public static class Escena {
+        @Param({"3", "50", "500"})
+        int personajes;
+
+        @Param({"describir", "dibujar"})
+        String lado;
+
+        Escenario escenario;
+
+        @Setup
+        public void preparar() {
+            escenario = Escenario.crear("EscenarioEscena", personajes, lado);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Sprite {
+        @Param({"nativo", "compatible"})
+        String formato;
+
+        @Param({"escalado", "sin-escalar"})
+        String escala;
+
+        Escenario escenario;
+
+        @Setup
+        public void preparar() {
+            escenario = Escenario.crear("EscenarioSprite", 1, formato + "/" + escala);
+        }
+    }
+
+    @Benchmark
+    public int escena(Escena estado) {
+        return estado.escenario.ejecutar();
+    }
+
+    @Benchmark
+    public int sprite(Sprite estado) {
+        return estado.escenario.ejecutar();
+    }
+}
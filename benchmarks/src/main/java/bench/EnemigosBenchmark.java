@@ -0,0 +1,48 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo POR ENEMIGO de un tick de enemigos ('Enemigo.actualizar()', que
+ * incluye 'ejecutarIA()', animación y temporizadores), con la lista de
+ * objetos o con el almacén de arrays ('AlmacenEnemigos').
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class EnemigosBenchmark {
+
+    static final int ENEMIGOS = 1000;
+
+    @Param({"objetos", "soa"})
+    String modo;
+
+    private Escenario escenario;
+
+    @Setup
+    public void preparar() {
+        escenario = Escenario.crear("EscenarioEnemigos", ENEMIGOS, modo);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENEMIGOS)
+    public int actualizarPorEnemigo() {
+        return escenario.ejecutar();
+    }
+}
@@ -0,0 +1,40 @@
+package bench;
+
+/**
+ * INTERFAZ - Escenario (Lo que Mide un Benchmark)
+ *
+ * Propósito: Puente entre los benchmarks JMH (paquete 'bench') y las clases
+ * del juego (paquete por defecto, que no se puede importar desde aquí).
+ * Cada escenario vive en el paquete por defecto, usa el juego directamente
+ * e implementa esta interfaz; el benchmark lo crea por nombre UNA vez y
+ * después solo llama a 'ejecutar()' (una llamada que el JIT resuelve directo).
+ */
+public interface Escenario {
+
+    /**
+     * Prepara todo lo que necesita la medición (fuera del tiempo medido).
+     * @param cantidad Tamaño del escenario (ej. cuántos enemigos).
+     * @param variante Qué versión medir (ej. "objetos" o "soa"); cada escenario documenta las suyas.
+     */
+    void preparar(int cantidad, String variante);
+
+    /**
+     * La operación medida.
+     * @return Un valor que depende del trabajo hecho (JMH lo "consume" para
+     *         que el JIT no pueda eliminar el trabajo por inútil).
+     */
+    int ejecutar();
+
+    /**
+     * Crea y prepara el escenario de la clase 'clase' (del paquete por defecto).
+     */
+    static Escenario crear(String clase, int cantidad, String variante) {
+        try {
+            Escenario escenario = (Escenario) Class.forName(clase).getDeclaredConstructor().newInstance();
+            escenario.preparar(cantidad, variante);
+            return escenario;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("No se pudo crear el escenario " + clase, e);
+        }
+    }
+}
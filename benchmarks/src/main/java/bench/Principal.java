@@ -0,0 +1,28 @@
+package bench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Punto de entrada de 'benchmarks.jar': el 'Main' de JMH, pero si no se pide
+ * otro formato guarda los resultados en JSON ('jmh-resultados.json'), para
+ * poder compararlos entre versiones.
+ */
+public class Principal {
+
+    static final String ARCHIVO_POR_DEFECTO = "jmh-resultados.json";
+
+    public static void main(String[] args) throws Exception {
+        List<String> opciones = new ArrayList<>(Arrays.asList(args));
+        if (!opciones.contains("-rf")) {
+            opciones.add(0, "json");
+            opciones.add(0, "-rf");
+        }
+        if (!opciones.contains("-rff")) {
+            opciones.add(0, ARCHIVO_POR_DEFECTO);
+            opciones.add(0, "-rff");
+        }
+        org.openjdk.jmh.Main.main(opciones.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,50 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de los recursos:
+ * - 'loadSprite': decodificar un PNG de personaje con 'GameObject.loadSprite()'
+ *   (o leerlo del 'sprites.pack', si hay uno en el classpath).
+ * - 'playSound': disparar un efecto con 'Sound.playSound()' y enviarlo al
+ *   mezclador ('SoundBank.finDeTick()'). Sin dispositivo de audio, mide solo
+ *   el camino de "descartar".
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RecursosBenchmark {
+
+    private Escenario carga;
+    private Escenario sonido;
+
+    @Setup
+    public void preparar() {
+        carga = Escenario.crear("EscenarioCargaSprite", 1, "/Right - Running_000.png");
+        sonido = Escenario.crear("EscenarioSonido", 1, "/sounds/ataque-golpe_01.wav");
+    }
+
+    @Benchmark
+    public int loadSprite() {
+        return carga.ejecutar();
+    }
+
+    @Benchmark
+    public int playSound() {
+        return sonido.ejecutar();
+    }
+}
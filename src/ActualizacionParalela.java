@@ -0,0 +1,82 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * CLASE DE UTILIDAD - ActualizacionParalela (Repartir un Bucle entre Hilos)
+ *
+ * Propósito: Con cientos o miles de enemigos, actualizarlos uno tras otro usa
+ * un solo núcleo. Cada enemigo solo LEE al jugador y solo ESCRIBE su propio
+ * estado, así que se pueden actualizar a la vez en varios hilos.
+ *
+ * El rango [0, n) se parte en "trozos" de TROZO elementos (siempre los
+ * mismos, sin importar cuántos hilos haya) y el ForkJoinPool los reparte
+ * entre sus hilos dividiendo el rango por la mitad ("fork-join").
+ * Cada trozo tiene un número: quien necesite juntar resultados (ej. quiénes
+ * murieron) los guarda por trozo y después los recorre en orden de trozo,
+ * así el resultado es el mismo en 1 o en 64 núcleos.
+ */
+public class ActualizacionParalela {
+
+    /**
+     * El trabajo de un trozo: procesar los elementos [desde, hasta).
+     * Lo pueden ejecutar varios hilos a la vez (cada uno con su trozo).
+     */
+    public interface Trabajo {
+        void procesar(int trozo, int desde, int hasta);
+    }
+
+    // Elementos por trozo (-Denemigos.trozo=N). Bastantes como para que repartir
+    // cueste poco comparado con el trabajo, pocos como para equilibrar la carga.
+    public static final int TROZO = Math.max(1, Integer.getInteger("enemigos.trozo", 64));
+
+    private final ForkJoinPool pool;
+
+    public ActualizacionParalela(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * @return En cuántos trozos se parte un rango de 'n' elementos.
+     */
+    public static int cantidadTrozos(int n) {
+        return (n + TROZO - 1) / TROZO;
+    }
+
+    /**
+     * Ejecuta 'trabajo' sobre todos los trozos de [0, n) y vuelve cuando
+     * terminaron todos (lo que escribieron los hilos ya es visible al volver).
+     */
+    public void ejecutar(int n, Trabajo trabajo) {
+        if (n <= 0) return;
+        pool.invoke(new Tarea(trabajo, 0, cantidadTrozos(n), n));
+    }
+
+    /**
+     * Los trozos [desdeTrozo, hastaTrozo): si es más de uno, se parte en dos mitades.
+     */
+    private static class Tarea extends RecursiveAction {
+        // 'RecursiveAction' es Serializable, pero una tarea nunca sale del pool
+        private static final long serialVersionUID = 1L;
+
+        private final transient Trabajo trabajo;
+        private final int desdeTrozo, hastaTrozo, n;
+
+        Tarea(Trabajo trabajo, int desdeTrozo, int hastaTrozo, int n) {
+            this.trabajo = trabajo;
+            this.desdeTrozo = desdeTrozo;
+            this.hastaTrozo = hastaTrozo;
+            this.n = n;
+        }
+
+        @Override
+        protected void compute() {
+            if (hastaTrozo - desdeTrozo == 1) {
+                int desde = desdeTrozo * TROZO;
+                trabajo.procesar(desdeTrozo, desde, Math.min(n, desde + TROZO));
+                return;
+            }
+            int medio = (desdeTrozo + hastaTrozo) >>> 1;
+            invokeAll(new Tarea(trabajo, desdeTrozo, medio, n), new Tarea(trabajo, medio, hastaTrozo, n));
+        }
+    }
+}
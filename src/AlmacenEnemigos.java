@@ -0,0 +1,408 @@
+import java.awt.Color;
+import java.awt.Rectangle;
+import java.util.Arrays;
+
+/**
+ * CLASE DE DATOS - AlmacenEnemigos (Enemigos "orientados a datos")
+ *
+ * Propósito: Alternativa OPCIONAL a la lista de objetos 'Enemigo'. En vez de
+ * un objeto por enemigo (con sus Strings, Rectangles y referencias), aquí cada
+ * dato vive en su propio array de primitivos: todas las 'x' juntas, todas las
+ * 'vidas' juntas, etc. ("struct of arrays"). El enemigo número 'i' es la
+ * posición 'i' de cada array.
+ *
+ * Ventaja: recorrer a todos los enemigos lee memoria contigua (sin saltar de
+ * objeto en objeto), y los bucles simples (posición anterior, temporizadores)
+ * los puede vectorizar el JIT.
+ *
+ * Se activa con '-Denemigos.soa=true'. Lo que distingue a cada tipo (vidas,
+ * velocidad, hitbox, sprites) está en TABLAS indexadas por un 'byte' de tipo,
+ * que se llenan a partir de un prototipo de 'EnemigoMasculino' y
+ * 'EnemigoFemenino': las estadísticas siguen definiéndose en esas clases.
+ * La animación sale de los mismos Clips de 'Animacion' (ticks por frame,
+ * cantidad de frames, modo y tabla de transiciones) que usa 'Animador'.
+ * La IA es la misma de 'ejecutarIA()' (hoy idéntica en los dos tipos).
+ */
+public class AlmacenEnemigos {
+
+    // --- Bloque 1: Tablas por Tipo ---
+    public static final byte MASCULINO = 0;
+    public static final byte FEMENINO = 1;
+
+    static final int ALCANCE_ATAQUE = 30;  // Ancho del hitbox de ataque (igual que 'Enemigo.atacar')
+    static final int DISTANCIA_ATAQUE = 50; // Ataca si el jugador está a menos de esto
+    static final int TICKS_COOLDOWN = 60;   // 1 segundo entre ataques
+    static final byte CORRIENDO = (byte) Animacion.Estado.CORRIENDO.ordinal();
+    static final byte ATACANDO = (byte) Animacion.Estado.ATACANDO.ordinal();
+
+    private final SpriteRegistry.Personaje[] personajeTipo;
+    private final int[] vidasTipo, velocidadTipo, paddingXTipo, paddingYTipo, anchoTipo, altoTipo;
+    private final int[] duracionAtaqueTipo;
+
+    // Los Clips de cada tipo, en arrays [tipo][estado] (copiados de 'Animacion')
+    private final SpriteRegistry.Accion[][] accionClip;
+    private final int[][] ticksPorFrameClip, numFramesClip;
+    private final boolean[][] bucleClip;
+    private final boolean[][][] reiniciaFrameTipo; // [tipo][desde][hacia]
+
+    // --- Bloque 2: Los Arrays (un elemento por enemigo) ---
+    private int cantidad = 0;
+    private byte[] tipo;
+    private int[] x, y, xAnterior, yAnterior;
+    private int[] vidas;
+    private boolean[] izquierda;      // Hacia dónde mira (true = izquierda)
+    private boolean[] atacando, enCooldown;
+    private int[] contadorAtaque, contadorCooldown;
+    private byte[] estadoAnim;        // Estado del clip que se está mostrando
+    private int[] spriteCounter, spriteNum;
+    private int[] hitboxX, hitboxY, hitboxAncho, hitboxAlto; // Cuerpo
+    private int[] ataqueX, ataqueY, ataqueAncho;             // Arma (ancho 0 = apagada)
+
+    private final GameWorld mundo;
+
+    public AlmacenEnemigos(GameWorld mundo, int capacidadInicial) {
+        this.mundo = mundo;
+
+        // Un prototipo de cada tipo: sus estadísticas llenan las tablas
+        Enemigo[] prototipos = { new EnemigoMasculino(0, 0, mundo), new EnemigoFemenino(0, 0, mundo) };
+        int tipos = prototipos.length;
+        personajeTipo = new SpriteRegistry.Personaje[tipos];
+        vidasTipo = new int[tipos];
+        velocidadTipo = new int[tipos];
+        paddingXTipo = new int[tipos];
+        paddingYTipo = new int[tipos];
+        anchoTipo = new int[tipos];
+        altoTipo = new int[tipos];
+        duracionAtaqueTipo = new int[tipos];
+        int estados = Animacion.ESTADOS.length;
+        accionClip = new SpriteRegistry.Accion[tipos][estados];
+        ticksPorFrameClip = new int[tipos][estados];
+        numFramesClip = new int[tipos][estados];
+        bucleClip = new boolean[tipos][estados];
+        reiniciaFrameTipo = new boolean[tipos][][];
+        for (int t = 0; t < tipos; t++) {
+            Enemigo p = prototipos[t];
+            personajeTipo[t] = p.personaje;
+            vidasTipo[t] = p.vidas;
+            velocidadTipo[t] = p.velocidadMovimiento;
+            paddingXTipo[t] = p.hitboxPaddingX;
+            paddingYTipo[t] = p.hitboxPaddingY;
+            anchoTipo[t] = p.hitbox.width;
+            altoTipo[t] = p.hitbox.height;
+            duracionAtaqueTipo[t] = p.duracionAtaque;
+            Animacion animacion = Animacion.de(p.personaje);
+            for (int e = 0; e < estados; e++) {
+                Animacion.Clip clip = animacion.clips[e];
+                accionClip[t][e] = clip.accion;
+                ticksPorFrameClip[t][e] = clip.ticksPorFrame;
+                numFramesClip[t][e] = clip.numFrames;
+                bucleClip[t][e] = (clip.modo == Animacion.Modo.BUCLE);
+            }
+            reiniciaFrameTipo[t] = animacion.reiniciaFrame;
+        }
+
+        reservar(Math.max(1, capacidadInicial));
+    }
+
+    /**
+     * Crea (o agranda, copiando) todos los arrays a la capacidad indicada.
+     */
+    private void reservar(int capacidad) {
+        tipo = (tipo == null) ? new byte[capacidad] : Arrays.copyOf(tipo, capacidad);
+        x = crecer(x, capacidad);
+        y = crecer(y, capacidad);
+        xAnterior = crecer(xAnterior, capacidad);
+        yAnterior = crecer(yAnterior, capacidad);
+        vidas = crecer(vidas, capacidad);
+        izquierda = crecer(izquierda, capacidad);
+        atacando = crecer(atacando, capacidad);
+        enCooldown = crecer(enCooldown, capacidad);
+        contadorAtaque = crecer(contadorAtaque, capacidad);
+        contadorCooldown = crecer(contadorCooldown, capacidad);
+        estadoAnim = (estadoAnim == null) ? new byte[capacidad] : Arrays.copyOf(estadoAnim, capacidad);
+        spriteCounter = crecer(spriteCounter, capacidad);
+        spriteNum = crecer(spriteNum, capacidad);
+        hitboxX = crecer(hitboxX, capacidad);
+        hitboxY = crecer(hitboxY, capacidad);
+        hitboxAncho = crecer(hitboxAncho, capacidad);
+        hitboxAlto = crecer(hitboxAlto, capacidad);
+        ataqueX = crecer(ataqueX, capacidad);
+        ataqueY = crecer(ataqueY, capacidad);
+        ataqueAncho = crecer(ataqueAncho, capacidad);
+    }
+
+    private static int[] crecer(int[] a, int capacidad) {
+        return (a == null) ? new int[capacidad] : Arrays.copyOf(a, capacidad);
+    }
+
+    private static boolean[] crecer(boolean[] a, int capacidad) {
+        return (a == null) ? new boolean[capacidad] : Arrays.copyOf(a, capacidad);
+    }
+
+    // --- Bloque 3: Altas y Bajas ---
+
+    /**
+     * Agrega un enemigo (equivale a 'new EnemigoMasculino(x, y, mundo)' o al femenino).
+     */
+    public void agregar(byte t, int px, int py) {
+        if (cantidad == x.length) reservar(cantidad * 2);
+        int i = cantidad++;
+        tipo[i] = t;
+        x[i] = px;
+        y[i] = py;
+        xAnterior[i] = px;
+        yAnterior[i] = py;
+        vidas[i] = vidasTipo[t];
+        izquierda[i] = true;
+        atacando[i] = false;
+        enCooldown[i] = false;
+        contadorAtaque[i] = 0;
+        contadorCooldown[i] = 0;
+        estadoAnim[i] = CORRIENDO;
+        spriteCounter[i] = 0;
+        spriteNum[i] = 0;
+        hitboxX[i] = px;
+        hitboxY[i] = py;
+        hitboxAncho[i] = anchoTipo[t];
+        hitboxAlto[i] = altoTipo[t];
+        ataqueX[i] = 0;
+        ataqueY[i] = 0;
+        ataqueAncho[i] = 0;
+    }
+
+    /**
+     * Copia el enemigo 'desde' en la posición 'hasta' (para compactar).
+     */
+    private void mover(int desde, int hasta) {
+        tipo[hasta] = tipo[desde];
+        x[hasta] = x[desde];
+        y[hasta] = y[desde];
+        xAnterior[hasta] = xAnterior[desde];
+        yAnterior[hasta] = yAnterior[desde];
+        vidas[hasta] = vidas[desde];
+        izquierda[hasta] = izquierda[desde];
+        atacando[hasta] = atacando[desde];
+        enCooldown[hasta] = enCooldown[desde];
+        contadorAtaque[hasta] = contadorAtaque[desde];
+        contadorCooldown[hasta] = contadorCooldown[desde];
+        estadoAnim[hasta] = estadoAnim[desde];
+        spriteCounter[hasta] = spriteCounter[desde];
+        spriteNum[hasta] = spriteNum[desde];
+        hitboxX[hasta] = hitboxX[desde];
+        hitboxY[hasta] = hitboxY[desde];
+        hitboxAncho[hasta] = hitboxAncho[desde];
+        hitboxAlto[hasta] = hitboxAlto[desde];
+        ataqueX[hasta] = ataqueX[desde];
+        ataqueY[hasta] = ataqueY[desde];
+        ataqueAncho[hasta] = ataqueAncho[desde];
+    }
+
+    public void limpiar() { cantidad = 0; }
+    public int getCantidad() { return cantidad; }
+    public int getX(int i) { return x[i]; }
+    public int getY(int i) { return y[i]; }
+    public int getVidas(int i) { return vidas[i]; }
+
+    // --- Bloque 4: Actualización (un bucle por etapa) ---
+    //
+    // Cada etapa recorre TODOS los enemigos antes de pasar a la siguiente. Para
+    // un mismo enemigo el orden es el de 'Enemigo.actualizar()':
+    // hitbox -> IA -> animación -> ataque -> cooldown.
+    //
+
+    /**
+     * Guarda la posición actual como "anterior" (para interpolar). Son dos copias de arrays.
+     */
+    public void guardarPosicionesAnteriores() {
+        System.arraycopy(x, 0, xAnterior, 0, cantidad);
+        System.arraycopy(y, 0, yAnterior, 0, cantidad);
+    }
+
+    /**
+     * Avanza un tick a todos los enemigos y quita a los que no tienen vidas.
+     * @return Cuántos enemigos murieron (para sumar puntos).
+     */
+    public int actualizar(Jugador jugador) {
+        actualizarRango(0, cantidad, jugador.getX());
+        return quitarMuertos();
+    }
+
+    /**
+     * Igual que 'actualizar()', pero las etapas 1-5 se reparten por trozos
+     * entre los hilos de 'paralelo' (cada enemigo solo toca su propio índice).
+     * Quitar a los muertos se hace después, en un solo hilo y en orden.
+     */
+    public int actualizar(Jugador jugador, ActualizacionParalela paralelo) {
+        int jugadorX = jugador.getX();
+        paralelo.ejecutar(cantidad, (trozo, desde, hasta) -> actualizarRango(desde, hasta, jugadorX));
+        return quitarMuertos();
+    }
+
+    /**
+     * Etapas 1-5 para los enemigos [desde, hasta).
+     */
+    private void actualizarRango(int desde, int hasta, int jugadorX) {
+        // 1. Hitbox del cuerpo (antes de moverse, como en 'Enemigo.actualizar')
+        for (int i = desde; i < hasta; i++) {
+            hitboxX[i] = x[i] + paddingXTipo[tipo[i]];
+            hitboxY[i] = y[i] + paddingYTipo[tipo[i]];
+        }
+
+        // 2. IA: atacar si está cerca, si no perseguir al jugador
+        for (int i = desde; i < hasta; i++) {
+            if (atacando[i]) continue;
+            int distanciaX = jugadorX - x[i];
+            if (!enCooldown[i] && Math.abs(distanciaX) < DISTANCIA_ATAQUE) {
+                izquierda[i] = distanciaX < 0;
+                atacar(i);
+            } else {
+                int paso = velocidadTipo[tipo[i]];
+                boolean haciaDerecha = distanciaX > 0;
+                x[i] += haciaDerecha ? paso : -paso;
+                izquierda[i] = !haciaDerecha;
+            }
+        }
+
+        // 3. Animación (lo mismo que 'Animador.cambiar()' + 'avanzar()')
+        for (int i = desde; i < hasta; i++) {
+            int t = tipo[i];
+            int e = estadoAnim[i];
+            int nuevo = atacando[i] ? ATACANDO : CORRIENDO;
+            if (nuevo != e) { // La tabla de transiciones decide si vuelve al frame 0
+                if (reiniciaFrameTipo[t][e][nuevo] || spriteNum[i] >= numFramesClip[t][nuevo]) {
+                    spriteNum[i] = 0;
+                }
+                estadoAnim[i] = (byte) nuevo;
+                e = nuevo;
+            }
+            if (++spriteCounter[i] < ticksPorFrameClip[t][e]) continue;
+            spriteCounter[i] = 0;
+            if (++spriteNum[i] >= numFramesClip[t][e]) { // Fin del clip: según su modo
+                spriteNum[i] = bucleClip[t][e] ? 0 : numFramesClip[t][e] - 1;
+            }
+        }
+
+        // 4. Temporizador de ataque
+        for (int i = desde; i < hasta; i++) {
+            if (!atacando[i]) continue;
+            if (++contadorAtaque[i] > duracionAtaqueTipo[tipo[i]]) {
+                atacando[i] = false;
+                contadorAtaque[i] = 0;
+                ataqueAncho[i] = 0;
+                enCooldown[i] = true;
+                contadorCooldown[i] = 0;
+            }
+        }
+
+        // 5. Temporizador de cooldown
+        for (int i = desde; i < hasta; i++) {
+            if (!enCooldown[i]) continue;
+            if (++contadorCooldown[i] > TICKS_COOLDOWN) {
+                enCooldown[i] = false;
+                contadorCooldown[i] = 0;
+            }
+        }
+
+    }
+
+    /**
+     * 6. Quita a los muertos, conservando el orden del resto.
+     * @return Cuántos se quitaron.
+     */
+    private int quitarMuertos() {
+        final int n = cantidad;
+        int vivos = 0;
+        for (int i = 0; i < n; i++) {
+            if (vidas[i] <= 0) continue;
+            if (vivos != i) mover(i, vivos);
+            vivos++;
+        }
+        cantidad = vivos;
+        return n - vivos;
+    }
+
+    /**
+     * Igual que 'Enemigo.atacar()': arranca el ataque y coloca el hitbox del arma.
+     */
+    private void atacar(int i) {
+        atacando[i] = true; // (La animación de ataque empieza desde el frame 0)
+        contadorAtaque[i] = 0;
+        ataqueX[i] = izquierda[i] ? x[i] - ALCANCE_ATAQUE : x[i] + hitboxAncho[i];
+        ataqueY[i] = y[i];
+        ataqueAncho[i] = ALCANCE_ATAQUE;
+    }
+
+    private void perderVida(int i) {
+        vidas[i]--;
+        if (mundo.conMensajes) System.out.println("Enemigo golpeado, vidas: " + vidas[i]);
+    }
+
+    // --- Bloque 5: Colisiones ---
+
+    /**
+     * Las mismas comprobaciones que 'GameWorld.checkColisiones()', pero
+     * recorriendo los arrays de hitboxes en vez de objetos.
+     */
+    public void checkColisiones(Jugador jugador) {
+        Rectangle cuerpo = jugador.getHitbox();
+
+        // 1. ¿El JUGADOR golpea a un ENEMIGO?
+        if (jugador.isAtacando()) {
+            Rectangle arma = jugador.hitboxAtaque;
+            for (int i = 0; i < cantidad; i++) {
+                if (intersecta(arma.x, arma.y, arma.width, arma.height,
+                        hitboxX[i], hitboxY[i], hitboxAncho[i], hitboxAlto[i])) {
+                    perderVida(i);
+                    mundo.sonido(SoundBank.Efecto.GOLPE, 1.0f);
+                    EventosJuego.colision(mundo, EventosJuego.GOLPE_JUGADOR);
+                }
+            }
+        }
+
+        for (int i = 0; i < cantidad; i++) {
+            // A. Colisión por "Pisotón"
+            if (intersecta(cuerpo.x, cuerpo.y, cuerpo.width, cuerpo.height,
+                    hitboxX[i], hitboxY[i], hitboxAncho[i], hitboxAlto[i])) {
+                if (jugador.getVelocidadY() > 0 && !jugador.isInvencible() && !jugador.isAtacando()) {
+                    perderVida(i);
+                    jugador.rebotar();
+                    EventosJuego.colision(mundo, EventosJuego.PISOTON);
+                }
+            }
+
+            // B. Colisión por "Ataque de Enemigo"
+            if (atacando[i] && intersecta(ataqueX[i], ataqueY[i], ataqueAncho[i], hitboxAlto[i],
+                    cuerpo.x, cuerpo.y, cuerpo.width, cuerpo.height)) {
+                jugador.perderVida();
+                EventosJuego.colision(mundo, EventosJuego.ATAQUE_ENEMIGO);
+            }
+        }
+    }
+
+    /**
+     * Lo mismo que 'Rectangle.intersects', sin necesitar objetos Rectangle.
+     */
+    static boolean intersecta(int ax, int ay, int aw, int ah, int bx, int by, int bw, int bh) {
+        if (aw <= 0 || ah <= 0 || bw <= 0 || bh <= 0) return false;
+        return ax < bx + bw && bx < ax + aw && ay < by + bh && by < ay + ah;
+    }
+
+    // --- Bloque 6: Dibujo ---
+
+    /**
+     * Anota a todos los enemigos en la instantánea (igual que 'Enemigo.describir()').
+     */
+    public void describir(Instantanea inst) {
+        for (int i = 0; i < cantidad; i++) {
+            SpriteRegistry.Orientacion mirando = izquierda[i]
+                    ? SpriteRegistry.Orientacion.IZQUIERDA : SpriteRegistry.Orientacion.DERECHA;
+            SpriteRegistry.Accion accion = accionClip[tipo[i]][estadoAnim[i]];
+            int frame = mundo.sprites.frame(personajeTipo[tipo[i]], accion, mirando, spriteNum[i]);
+
+            inst.sprite(frame, xAnterior[i], yAnterior[i], x[i], y[i], 1.0f, Color.MAGENTA);
+
+            // Depuración: hitbox del cuerpo (rojo)
+            inst.caja(hitboxX[i] - x[i], hitboxY[i] - y[i], hitboxAncho[i], hitboxAlto[i], Color.RED);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * CLASE DE DATOS - Animacion (Definición de las Animaciones de un Personaje)
+ *
+ * Propósito: Describir UNA vez, para cada personaje, qué animación ("clip")
+ * corresponde a cada estado y qué pasa al cambiar de estado. Es solo datos:
+ * quien la "reproduce" es 'Animador', uno por jugador o enemigo.
+ *
+ * - Estado: lo que hace el personaje (QUIETO, CORRIENDO, ATACANDO).
+ * - Clip: qué sprites usa, cuántos frames tiene, cuántos ticks dura cada uno
+ *   y qué hace al llegar al final (volver a empezar o quedarse en el último).
+ * - Transiciones: una tabla [desde][hacia] que dice si el clip nuevo empieza
+ *   desde el frame 0 o sigue con el frame en el que iba.
+ *
+ * Todo se arma al cargar la clase; durante el juego solo se leen arrays.
+ */
+public final class Animacion {
+
+    // --- Bloque 1: Estados, Modos y Clips ---
+
+    public enum Estado { QUIETO, CORRIENDO, ATACANDO }
+
+    /** Qué hace un clip al pasar su último frame. */
+    public enum Modo {
+        BUCLE,    // Vuelve al frame 0 (correr)
+        MANTENER  // Se queda en el último frame (atacar, quieto)
+    }
+
+    static final int TICKS_POR_FRAME = 3; // 60 / 3 = 20 frames de animación por segundo
+
+    public static final class Clip {
+        public final SpriteRegistry.Accion accion; // De qué sprites saca los frames
+        public final int numFrames;
+        public final int ticksPorFrame;
+        public final Modo modo;
+
+        Clip(SpriteRegistry.Accion accion, int numFrames, int ticksPorFrame, Modo modo) {
+            this.accion = accion;
+            this.numFrames = numFrames;
+            this.ticksPorFrame = ticksPorFrame;
+            this.modo = modo;
+        }
+
+        /** Cuántos ticks tarda en mostrar todos sus frames. */
+        public int duracionTicks() {
+            return numFrames * ticksPorFrame;
+        }
+    }
+
+    static final Estado[] ESTADOS = Estado.values();
+
+    // --- Bloque 2: La Definición ---
+    public final SpriteRegistry.Personaje personaje;
+    final Clip[] clips = new Clip[ESTADOS.length];                       // Por Estado.ordinal()
+    final boolean[][] reiniciaFrame = new boolean[ESTADOS.length][ESTADOS.length]; // [desde][hacia]
+
+    private Animacion(SpriteRegistry.Personaje p) {
+        this.personaje = p;
+
+        // Quieto = primer frame de correr, fijo
+        clips[Estado.QUIETO.ordinal()] = new Clip(SpriteRegistry.Accion.CORRER, 1, TICKS_POR_FRAME, Modo.MANTENER);
+        clips[Estado.CORRIENDO.ordinal()] = new Clip(SpriteRegistry.Accion.CORRER, p.numFramesCorrer, TICKS_POR_FRAME, Modo.BUCLE);
+        clips[Estado.ATACANDO.ordinal()] = new Clip(SpriteRegistry.Accion.ATACAR, p.numFramesAtacar, TICKS_POR_FRAME, Modo.MANTENER);
+
+        // Un ataque siempre empieza desde su primer frame; los demás cambios
+        // siguen con el frame en el que iban (como hacía el código original).
+        for (Estado desde : ESTADOS) {
+            reiniciaFrame[desde.ordinal()][Estado.ATACANDO.ordinal()] = (desde != Estado.ATACANDO);
+        }
+    }
+
+    // --- Bloque 3: Una Definición por Personaje (precalculadas) ---
+    private static final Animacion[] POR_PERSONAJE = new Animacion[SpriteRegistry.Personaje.values().length];
+    static {
+        for (SpriteRegistry.Personaje p : SpriteRegistry.Personaje.values()) {
+            POR_PERSONAJE[p.ordinal()] = new Animacion(p);
+        }
+    }
+
+    /**
+     * @return La definición de animaciones de un personaje (compartida por todos los que lo usan).
+     */
+    public static Animacion de(SpriteRegistry.Personaje p) {
+        return POR_PERSONAJE[p.ordinal()];
+    }
+
+    public Clip clip(Estado estado) {
+        return clips[estado.ordinal()];
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * CLASE DE UTILIDAD - Animador (Reproductor de Animaciones)
+ *
+ * Propósito: Llevar la cuenta de la animación de UN personaje (en qué estado
+ * está, hacia dónde mira, qué frame toca). Lo usan 'Jugador' y 'Enemigo' en
+ * vez de tener cada uno su propio contador de frames.
+ *
+ * Uso, una vez por tick: 'cambiar(estado)', 'mirar(orientacion)' y 'avanzar()'.
+ * Al describir el tick: 'frameActual()' devuelve el id del frame en el atlas.
+ *
+ * Los ids de los frames del estado y orientación actuales se guardan en
+ * 'frames' al cambiar: buscar el frame actual es un solo acceso a un array.
+ * Lo usa SOLO el Game Loop: lo escribe al simular y lo lee al describir el
+ * tick en la 'Instantanea'. El hilo que dibuja nunca lo ve; solo ve el id
+ * del frame copiado en la instantánea.
+ */
+public class Animador {
+
+    // --- Bloque 1: Estado ---
+    private final Animacion animacion;
+    private final SpriteRegistry sprites;
+
+    private Animacion.Estado estado;
+    private SpriteRegistry.Orientacion orientacion;
+    private Animacion.Clip clip;
+    private int frame = 0;     // Frame actual dentro del clip
+    private int contador = 0;  // Ticks que lleva el frame actual
+    private int[] frames;      // Ids en el atlas del clip actual ('null' = aún no cargados)
+
+    public Animador(SpriteRegistry sprites, SpriteRegistry.Personaje personaje,
+                    Animacion.Estado estado, SpriteRegistry.Orientacion orientacion) {
+        this.sprites = sprites;
+        this.animacion = Animacion.de(personaje);
+        reiniciar(estado, orientacion);
+    }
+
+    /**
+     * Vuelve al comienzo (frame 0) de un estado, sin pasar por la tabla de transiciones.
+     */
+    public void reiniciar(Animacion.Estado estado, SpriteRegistry.Orientacion orientacion) {
+        this.estado = estado;
+        this.orientacion = orientacion;
+        this.clip = animacion.clip(estado);
+        this.frame = 0;
+        this.contador = 0;
+        this.frames = buscarFrames();
+    }
+
+    // --- Bloque 2: Cambios de Estado ---
+
+    /**
+     * Pasa a otro estado. La tabla de transiciones decide si el clip nuevo
+     * empieza en el frame 0 o sigue con el frame actual.
+     */
+    public void cambiar(Animacion.Estado nuevo) {
+        if (nuevo == estado) return;
+        Animacion.Clip nuevoClip = animacion.clips[nuevo.ordinal()];
+        if (animacion.reiniciaFrame[estado.ordinal()][nuevo.ordinal()] || frame >= nuevoClip.numFrames) {
+            frame = 0;
+        }
+        estado = nuevo;
+        clip = nuevoClip;
+        frames = buscarFrames();
+    }
+
+    public void mirar(SpriteRegistry.Orientacion nueva) {
+        if (nueva == orientacion) return;
+        orientacion = nueva;
+        frames = buscarFrames();
+    }
+
+    private int[] buscarFrames() {
+        if (sprites == null) return null; // Mundo sin gráficos (simulación)
+        return sprites.obtener(animacion.personaje, clip.accion, orientacion);
+    }
+
+    /**
+     * Avanza un tick: cada 'ticksPorFrame' pasa al frame siguiente, y al final
+     * del clip vuelve a empezar o se queda en el último (según su 'Modo').
+     */
+    public void avanzar() {
+        if (frames == null) frames = buscarFrames(); // Los sprites pueden terminar de cargar después
+        if (++contador < clip.ticksPorFrame) return;
+        contador = 0;
+        if (++frame >= clip.numFrames) {
+            frame = (clip.modo == Animacion.Modo.BUCLE) ? 0 : clip.numFrames - 1;
+        }
+    }
+
+    // --- Bloque 3: Consulta ---
+
+    /**
+     * @return El id (en el atlas) del frame a dibujar, o SIN_FRAME si sus sprites aún no se cargaron.
+     */
+    public int frameActual() {
+        // Sin frames todavía, o un clip con menos frames cargados de los esperados
+        return (frames != null && frame < frames.length) ? frames[frame] : SpriteAtlas.SIN_FRAME;
+    }
+
+    public Animacion.Estado getEstado() { return estado; }
+    public SpriteRegistry.Orientacion getOrientacion() { return orientacion; }
+    public Animacion.Clip getClip() { return clip; }
+    public int getFrame() { return frame; }
+}
@@ -0,0 +1,154 @@
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CLASE DE UTILIDAD - AssetLoader (Cargador de Recursos en Paralelo)
+ *
+ * Propósito: Decodificar los PNG de las animaciones usando TODOS los núcleos
+ * del procesador, en vez de uno tras otro. Cada frame es una tarea; cada
+ * animación es un 'CompletableFuture' que se completa cuando están todos
+ * sus frames, y se busca por una clave (ej. "ENEMIGO_MASCULINO/CORRER/DERECHA").
+ *
+ * Además mide cuánto tardó cada archivo y la carga completa.
+ */
+public class AssetLoader {
+
+    // --- Bloque 1: Hilos y Resultados ---
+    //
+    // Decodificar PNG es trabajo de CPU: un pool fijo de un hilo por núcleo
+    // rinde más que muchos hilos (o hilos virtuales) compitiendo entre sí.
+    //
+    private final ExecutorService executor;
+    private final Map<String, CompletableFuture<BufferedImage[]>> animaciones = new ConcurrentHashMap<>();
+    private final Map<String, Long> nanosPorArchivo = new ConcurrentHashMap<>();
+    private final AtomicInteger archivosEncolados = new AtomicInteger();
+    private final AtomicInteger archivosCargados = new AtomicInteger();
+    private final long inicioNanos = System.nanoTime();
+    private long totalNanos = -1; // Se conoce al terminar 'esperarTodo()'
+
+    /**
+     * Crea un cargador con un hilo por núcleo disponible.
+     */
+    public AssetLoader() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param hilos Cantidad máxima de PNG que se decodifican a la vez.
+     */
+    public AssetLoader(int hilos) {
+        AtomicInteger numero = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, hilos), tarea -> {
+            Thread t = new Thread(tarea, "AssetLoader-" + numero.incrementAndGet());
+            t.setDaemon(true); // No impide que el juego se cierre
+            return t;
+        });
+    }
+
+    // --- Bloque 2: Encolar Trabajo ---
+
+    /**
+     * Encola la carga de una animación completa. Vuelve enseguida.
+     * Los archivos se atienden en orden de llegada: lo que se encola primero
+     * (lo más prioritario) se termina antes.
+     * @param clave  Nombre con el que luego se pide (ej. "ENEMIGO_MASCULINO/CORRER/DERECHA")
+     * @param patron Ruta con '%03d' en el lugar del número de frame
+     * @param numFrames Cantidad de frames (de 0 a numFrames - 1)
+     * @return Un 'future' que tendrá los frames en orden (los que fallen, 'null').
+     */
+    public CompletableFuture<BufferedImage[]> cargarAnimacion(String clave, String patron, int numFrames) {
+        List<CompletableFuture<BufferedImage>> frames = new ArrayList<>(numFrames);
+        archivosEncolados.addAndGet(numFrames);
+        for (int i = 0; i < numFrames; i++) {
+            String path = String.format(patron, i);
+            frames.add(CompletableFuture.supplyAsync(() -> cargarArchivo(path), executor));
+        }
+
+        CompletableFuture<?>[] todos = frames.toArray(new CompletableFuture<?>[0]);
+        CompletableFuture<BufferedImage[]> animacion = CompletableFuture.allOf(todos).thenApply(v -> {
+            BufferedImage[] resultado = new BufferedImage[numFrames];
+            for (int i = 0; i < numFrames; i++) {
+                resultado[i] = frames.get(i).join();
+            }
+            return resultado;
+        });
+        animaciones.put(clave, animacion);
+        return animacion;
+    }
+
+    // --- Bloque 3: Obtener Resultados ---
+
+    /**
+     * Devuelve los frames de una animación, esperando si aún se están cargando.
+     * @throws IllegalArgumentException si la clave nunca se encoló.
+     */
+    public BufferedImage[] obtener(String clave) {
+        CompletableFuture<BufferedImage[]> animacion = animaciones.get(clave);
+        if (animacion == null) {
+            throw new IllegalArgumentException("Animación no encolada: " + clave);
+        }
+        return animacion.join();
+    }
+
+    /**
+     * Espera a que terminen TODAS las animaciones encoladas y registra el tiempo total.
+     */
+    public void esperarTodo() {
+        CompletableFuture.allOf(animaciones.values().toArray(new CompletableFuture<?>[0])).join();
+        totalNanos = System.nanoTime() - inicioNanos;
+    }
+
+    /**
+     * Libera los hilos del cargador. Llamar cuando ya no se necesite.
+     */
+    public void cerrar() {
+        executor.shutdown();
+    }
+
+    // --- Bloque 4: Tiempos ---
+
+    public Map<String, Long> getNanosPorArchivo() { return nanosPorArchivo; }
+    public long getTotalNanos() { return totalNanos; }
+
+    /**
+     * Progreso de la carga, de 0.0 (nada) a 1.0 (todo lo encolado está listo).
+     */
+    public float getProgreso() {
+        int encolados = archivosEncolados.get();
+        return (encolados == 0) ? 0f : (float) archivosCargados.get() / encolados;
+    }
+
+    /**
+     * Imprime un resumen: cantidad de archivos, tiempo total y el archivo más lento.
+     */
+    public void imprimirTiempos() {
+        String masLento = null;
+        long sumaNanos = 0, maxNanos = 0;
+        for (Map.Entry<String, Long> e : nanosPorArchivo.entrySet()) {
+            sumaNanos += e.getValue();
+            if (e.getValue() > maxNanos) {
+                maxNanos = e.getValue();
+                masLento = e.getKey();
+            }
+        }
+        System.out.printf("Recursos: %d archivos en %.1f ms (suma de decodificación %.1f ms, más lento: %s %.1f ms)%n",
+                nanosPorArchivo.size(), totalNanos / 1e6, sumaNanos / 1e6, masLento, maxNanos / 1e6);
+    }
+
+    // --- Bloque 5: Método Ayudante ---
+
+    private BufferedImage cargarArchivo(String path) {
+        long inicio = System.nanoTime();
+        BufferedImage imagen = GameObject.loadSprite(path);
+        nanosPorArchivo.put(path, System.nanoTime() - inicio);
+        archivosCargados.incrementAndGet();
+        return imagen;
+    }
+}
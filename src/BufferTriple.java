@@ -0,0 +1,69 @@
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CLASE DE UTILIDAD - BufferTriple (Pasar Datos entre Dos Hilos sin Locks)
+ *
+ * Propósito: Un hilo ESCRITOR (el Game Loop) produce versiones nuevas de un
+ * objeto y un hilo LECTOR (el que dibuja) quiere siempre la más reciente, sin
+ * que ninguno de los dos espere al otro.
+ *
+ * Hay tres objetos:
+ * - uno es del escritor (lo está llenando),
+ * - uno es del lector (lo está dibujando),
+ * - el tercero es el "del medio": la última versión publicada.
+ * Publicar y tomar son un único intercambio atómico con el del medio, así
+ * que el escritor nunca toca lo que el lector está leyendo y viceversa.
+ * Si el escritor publica dos veces antes de que el lector tome, la versión
+ * vieja simplemente se vuelve a escribir (el lector solo ve la última).
+ *
+ * Reglas: UN solo hilo escribe y UN solo hilo lee.
+ */
+public class BufferTriple<T> {
+
+    private static final int NUEVO = 4; // Bit que indica "el del medio no fue tomado todavía"
+
+    private final List<T> buffers;
+    private int escritura = 0;                            // Solo lo usa el escritor
+    private int lectura = 1;                              // Solo lo usa el lector
+    private final AtomicInteger medio = new AtomicInteger(2); // Índice del medio (+ NUEVO)
+
+    /**
+     * Recibe los tres objetos (distintos) que se van a ir rotando.
+     */
+    public BufferTriple(T primero, T segundo, T tercero) {
+        this.buffers = List.of(primero, segundo, tercero);
+    }
+
+    // --- Bloque 1: Lado del Escritor ---
+
+    /**
+     * @return El objeto que el escritor puede llenar (nadie más lo está usando).
+     */
+    public T escritura() {
+        return buffers.get(escritura);
+    }
+
+    /**
+     * Publica el objeto de escritura como la versión más reciente y le da al
+     * escritor el que estaba en el medio para la próxima vez.
+     */
+    public void publicar() {
+        int anterior = medio.getAndSet(escritura | NUEVO);
+        escritura = anterior & ~NUEVO;
+    }
+
+    // --- Bloque 2: Lado del Lector ---
+
+    /**
+     * @return La versión publicada más reciente. Si no hubo nada nuevo desde
+     *         la última llamada, devuelve la misma de antes (sigue siendo válida).
+     */
+    public T lectura() {
+        if ((medio.get() & NUEVO) != 0) {
+            int anterior = medio.getAndSet(lectura);
+            lectura = anterior & ~NUEVO;
+        }
+        return buffers.get(lectura);
+    }
+}
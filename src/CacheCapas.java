@@ -0,0 +1,158 @@
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+/**
+ * CLASE DE UTILIDAD - CacheCapas (Capas que Casi Nunca Cambian, Dibujadas una Vez)
+ *
+ * Propósito: El fondo, el HUD y las pantallas de Menú y Game Over son casi
+ * siempre iguales de un frame al siguiente, pero dibujarlos cuesta: escalar
+ * el fondo a 1024x768 y rasterizar texto (sobre todo el título de 92pt).
+ * Esta clase los dibuja UNA vez en imágenes y luego solo las copia.
+ *
+ * - El fondo se guarda ya escalado en una 'VolatileImage' (memoria de video).
+ *   El sistema la puede "perder" (ej. al cambiar de resolución): se detecta
+ *   con 'validate()' / 'contentsLost()' y se vuelve a pintar.
+ * - Cada 'Capa' es una imagen transparente con una "clave" (ej. vidas y
+ *   puntuación del HUD). Solo se vuelve a pintar cuando la clave cambia.
+ *
+ * La usa SOLO el hilo que dibuja.
+ */
+public class CacheCapas {
+
+    // --- Bloque 1: Fondo ---
+    private final int ancho, alto;
+    private volatile BufferedImage fondoOriginal; // Lo pone el hilo de carga
+    private BufferedImage fondoPintado;           // Cuál está pintado en 'fondo'
+    private VolatileImage fondo;
+
+    public CacheCapas(int ancho, int alto) {
+        this.ancho = ancho;
+        this.alto = alto;
+    }
+
+    /**
+     * Cambia la imagen de fondo (se escala recién en el próximo 'dibujarFondo()').
+     */
+    public void setFondo(BufferedImage imagen) {
+        this.fondoOriginal = imagen;
+    }
+
+    /**
+     * Dibuja el fondo ya escalado, o negro si todavía no hay fondo.
+     */
+    public void dibujarFondo(Graphics2D g) {
+        BufferedImage original = fondoOriginal;
+        if (original == null) {
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, ancho, alto);
+            return;
+        }
+
+        GraphicsConfiguration gc = g.getDeviceConfiguration();
+        do {
+            int estado = (fondo == null) ? VolatileImage.IMAGE_INCOMPATIBLE : fondo.validate(gc);
+            if (estado == VolatileImage.IMAGE_INCOMPATIBLE) {
+                // Primera vez, o la pantalla cambió: se crea de nuevo en el dispositivo actual
+                if (fondo != null) fondo.flush();
+                fondo = gc.createCompatibleVolatileImage(ancho, alto, Transparency.OPAQUE);
+                estado = VolatileImage.IMAGE_RESTORED;
+            }
+            if (estado == VolatileImage.IMAGE_RESTORED || fondoPintado != original) {
+                pintarFondo(original);
+            }
+            g.drawImage(fondo, 0, 0, null);
+        } while (fondo.contentsLost()); // Se perdió mientras se copiaba: otra vez
+    }
+
+    /**
+     * Escala 'original' al tamaño de la pantalla dentro de la VolatileImage.
+     */
+    private void pintarFondo(BufferedImage original) {
+        Graphics2D gv = fondo.createGraphics();
+        try {
+            // Solo se escala una vez: vale la pena la mejor calidad
+            gv.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            gv.drawImage(original, 0, 0, ancho, alto, null);
+        } finally {
+            gv.dispose();
+        }
+        fondoPintado = original;
+    }
+
+    // --- Bloque 2: Capas con Clave ---
+
+    /**
+     * Quien sabe pintar el contenido de una capa para una clave dada.
+     * Pinta en coordenadas de la capa (0, 0 = su esquina).
+     */
+    public interface Pintor {
+        void pintar(Graphics2D g, long clave);
+    }
+
+    /**
+     * Junta dos enteros en una clave (ej. vidas y puntuación).
+     */
+    public static long clave(int a, int b) {
+        return ((long) a << 32) | (b & 0xFFFFFFFFL);
+    }
+
+    public static int primero(long clave) { return (int) (clave >>> 32); }
+    public static int segundo(long clave) { return (int) clave; }
+
+    /**
+     * Una imagen transparente de 'ancho' x 'alto' que se dibuja en (x, y).
+     */
+    public static class Capa {
+        private final int x, y, ancho, alto;
+        private final Pintor pintor;
+        private BufferedImage imagen;
+        private long clave;
+        private int repintadas = 0;
+
+        public Capa(int x, int y, int ancho, int alto, Pintor pintor) {
+            this.x = x;
+            this.y = y;
+            this.ancho = ancho;
+            this.alto = alto;
+            this.pintor = pintor;
+        }
+
+        /**
+         * Copia la capa en pantalla; antes la vuelve a pintar solo si 'clave'
+         * es distinta de la última (o si todavía no existe).
+         */
+        public void dibujar(Graphics2D g, long clave) {
+            if (imagen == null) {
+                // Compatible con la pantalla: Java2D la puede mantener en la GPU
+                imagen = g.getDeviceConfiguration().createCompatibleImage(ancho, alto, Transparency.TRANSLUCENT);
+                pintar(clave);
+            } else if (clave != this.clave) {
+                pintar(clave);
+            }
+            g.drawImage(imagen, x, y, null);
+        }
+
+        private void pintar(long clave) {
+            Graphics2D gi = imagen.createGraphics();
+            try {
+                gi.setComposite(AlphaComposite.Clear); // Borra lo anterior (queda transparente)
+                gi.fillRect(0, 0, ancho, alto);
+                gi.setComposite(AlphaComposite.SrcOver);
+                pintor.pintar(gi, clave);
+            } finally {
+                gi.dispose();
+            }
+            this.clave = clave;
+            repintadas++;
+        }
+
+        /** Cuántas veces se pintó (para comprobar que la caché funciona). */
+        public int getRepintadas() { return repintadas; }
+    }
+}
@@ -1,5 +1,3 @@
-import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
 import java.awt.Rectangle;
 import java.awt.Color; // Para dibujar el hitbox de depuración
 
@@ -17,8 +15,9 @@ public abstract class Enemigo extends GameObject {
     // Propósito: Variables que todo enemigo, sin importar su tipo,
     // necesitará para funcionar.
     //
-    protected GamePanel gamePanel; // Referencia al panel (para IA)
+    protected GameWorld mundo; // Referencia al mundo (para IA)
     protected int vidas;
+    protected int vidasIniciales; // Con cuántas vidas aparece (lo define cada hijo)
     protected int velocidadMovimiento;
 
     // --- Bloque 2: Variables de Estado y Animación ---
@@ -26,26 +25,19 @@ public abstract class Enemigo extends GameObject {
     // Propósito: Rastrea lo que el enemigo está haciendo y qué
     // sprite debería mostrar.
     //
-    protected String direction; // "left" o "right"
-    protected String estado;    // "corriendo", "atacando", "quieto"
     protected boolean atacando = false;
 
     // Cooldown: Previene que el enemigo "spamee" ataques.
     protected boolean enCooldown = false;
     protected int contadorCooldown = 0;
 
-    // Arrays para guardar las imágenes.
-    // NO se cargan aquí; se reciben en el constructor.
-    public BufferedImage[] runRightAnimation;
-    public BufferedImage[] runLeftAnimation;
-    public BufferedImage[] attackRightAnimation;
-    public BufferedImage[] attackLeftAnimation;
+    // Qué sprites usa este enemigo. Los frames NO se cargan aquí:
+    // viven en 'mundo.sprites', compartidos por todos los enemigos del mismo tipo.
+    protected final SpriteRegistry.Personaje personaje;
 
-    // Contadores para el ciclo de animación
-    protected int numFramesCorrer;
-    protected int numFramesAtacar;
-    protected int spriteCounter = 0;
-    protected int spriteNum = 0;
+    // Estado de la animación (CORRIENDO o ATACANDO), hacia dónde mira y frame actual
+    protected final Animador animador;
+    protected final int duracionAtaque; // Ticks que dura el clip de ataque
 
     // Hitboxes
     protected Rectangle hitboxAtaque; // El hitbox del "arma"
@@ -57,29 +49,38 @@ public abstract class Enemigo extends GameObject {
     // --- Bloque 3: Constructor (Optimización de Precarga) ---
     //
     // Propósito: Inicializar un enemigo.
-    // ¡CRÍTICO! Este constructor NO carga imágenes. En su lugar,
-    // RECIBE los arrays de imágenes que GamePanel ya precargó.
-    // Esto evita el "lag" (tirón) cada vez que un enemigo aparece.
+    // ¡CRÍTICO! Este constructor NO carga imágenes. Solo RECIBE qué
+    // personaje es; sus animaciones ya están precargadas en el
+    // 'SpriteRegistry'. Esto evita el "lag" (tirón) cada vez que un enemigo aparece.
     //
-    public Enemigo(int x, int y, GamePanel gamePanel,
-                   BufferedImage[] runRight, BufferedImage[] runLeft,
-                   BufferedImage[] attackRight, BufferedImage[] attackLeft) {
+    public Enemigo(int x, int y, GameWorld mundo, SpriteRegistry.Personaje personaje) {
         // Llama al constructor de GameObject (el "super")
         super(x, y);
-        this.gamePanel = gamePanel;
-        this.direction = "left";
-        this.estado = "corriendo";
+        this.mundo = mundo;
         this.hitboxAtaque = new Rectangle(0, 0, 0, 0);
 
-        // Asigna las imágenes (punteros a la memoria, no copias)
-        this.runRightAnimation = runRight;
-        this.runLeftAnimation = runLeft;
-        this.attackRightAnimation = attackRight;
-        this.attackLeftAnimation = attackLeft;
+        this.personaje = personaje;
 
-        // Guarda el número de frames basado en los arrays recibidos
-        this.numFramesCorrer = (runRight != null) ? runRight.length : 1;
-        this.numFramesAtacar = (attackRight != null) ? attackRight.length : 1;
+        // Empieza corriendo, mirando a la izquierda
+        this.animador = new Animador(mundo.sprites, personaje,
+                Animacion.Estado.CORRIENDO, SpriteRegistry.Orientacion.IZQUIERDA);
+        this.duracionAtaque = Animacion.de(personaje).clip(Animacion.Estado.ATACANDO).duracionTicks();
+    }
+
+    /**
+     * Deja al enemigo como recién creado en (x, y), para reutilizarlo desde
+     * 'EnemigoPool' en vez de crear uno nuevo. No reserva memoria.
+     */
+    public void reiniciar(int x, int y) {
+        teletransportar(x, y);
+        this.hitbox.setLocation(x, y); // Como en el constructor (el padding se aplica al actualizar)
+        this.vidas = vidasIniciales;
+        this.atacando = false;
+        this.enCooldown = false;
+        this.contadorCooldown = 0;
+        this.contadorAtaque = 0;
+        this.animador.reiniciar(Animacion.Estado.CORRIENDO, SpriteRegistry.Orientacion.IZQUIERDA);
+        this.hitboxAtaque.setBounds(0, 0, 0, 0);
     }
 
     // --- Bloque 4: Método Abstracto (El "Contrato") ---
@@ -112,16 +113,16 @@ public abstract class Enemigo extends GameObject {
         ejecutarIA();
 
         // 3. Actualiza el sprite (común a todos)
-        actualizarAnimacion();
+        animador.cambiar(atacando ? Animacion.Estado.ATACANDO : Animacion.Estado.CORRIENDO);
+        animador.avanzar();
 
         // 4. Maneja el temporizador de ataque (común a todos)
         if (atacando) {
             contadorAtaque++;
-            // El ataque dura (núm. de frames * 3 ticks)
-            if (contadorAtaque > (numFramesAtacar * 3)) {
+            // El ataque dura lo que su animación (núm. de frames * 3 ticks)
+            if (contadorAtaque > duracionAtaque) {
                 atacando = false;
                 contadorAtaque = 0;
-                estado = "corriendo";
                 hitboxAtaque.width = 0; // Desactiva el hitbox
 
                 // ¡Inicia el Cooldown!
@@ -152,13 +153,11 @@ public abstract class Enemigo extends GameObject {
     protected void atacar() {
         // Solo puede atacar si no está atacando ya
         if (!atacando) {
-            this.atacando = true;
-            this.estado = "atacando";
-            this.spriteNum = 0; // Reinicia la animación de ataque
+            this.atacando = true; // (La animación de ataque empieza desde el frame 0)
             this.contadorAtaque = 0;
 
             // Define el hitbox de ataque (30px de ancho)
-            if (direction.equals("left")) {
+            if (animador.getOrientacion() == SpriteRegistry.Orientacion.IZQUIERDA) {
                 hitboxAtaque.setBounds(x - 30, y, 30, hitbox.height);
             } else {
                 hitboxAtaque.setBounds(x + hitbox.width, y, 30, hitbox.height);
@@ -166,76 +165,38 @@ public abstract class Enemigo extends GameObject {
         }
     }
 
-    /**
-     * Maneja el ciclo de los sprites.
-     */
-    protected void actualizarAnimacion() {
-        spriteCounter++;
-        if (spriteCounter > 2) { // Cambia de frame cada 3 ticks
-            spriteNum++;
-            // Si está atacando, se frena en el último frame de ataque
-            if (estado.equals("atacando")) {
-                if (spriteNum >= numFramesAtacar) spriteNum = numFramesAtacar - 1;
-            } else { // Si está corriendo, reinicia el bucle
-                if (spriteNum >= numFramesCorrer) spriteNum = 0;
-            }
-            spriteCounter = 0;
-        }
-    }
-
     /**
      * MÉTODO ABSTRACTO IMPLEMENTADO (De GameObject)
-     * Dibuja el sprite correcto basado en el estado.
+     * Anota el sprite correcto (según el estado) en la instantánea del tick.
      */
     @Override
-    public void dibujar(Graphics2D g) {
-        BufferedImage image = null;
-
-        // Bloque 'try-catch' de seguridad por si las imágenes
-        // (precargadas en GamePanel) fallaron y son 'null'.
-        try {
-            switch (estado) {
-                case "atacando":
-                    image = (direction.equals("left")) ? attackLeftAnimation[spriteNum] : attackRightAnimation[spriteNum];
-                    break;
-                default:
-                    image = (direction.equals("left")) ? runLeftAnimation[spriteNum] : runRightAnimation[spriteNum];
-                    break;
-            }
-        } catch (Exception e) { image = null; }
-
-        // Si la imagen existe, la dibuja.
-        if (image != null) {
-            g.drawImage(image, x, y, gamePanel.tileSize, gamePanel.tileSize, null);
-        } else {
-            // Si la imagen es 'null' (falló la carga), dibuja
-            // un cuadro magenta para alertarnos del error sin crashear.
-            g.setColor(java.awt.Color.MAGENTA);
-            g.fillRect(x, y, gamePanel.tileSize, gamePanel.tileSize);
-        }
-
-        // --- Depuración (Debug) - ¡Visible! ---
-        // Dibuja el hitbox del cuerpo (rojo) para que podamos ajustarlo.
-        g.setColor(Color.RED);
-        g.drawRect(hitbox.x, hitbox.y, hitbox.width, hitbox.height);
+    public void describir(Instantanea inst) {
+        // El registro devuelve SIN_FRAME si la animación (precargada
+        // en GamePanel) falló; al dibujar se verá un cuadro magenta
+        // para alertarnos del error sin crashear.
+        inst.sprite(animador.frameActual(), xAnterior, yAnterior, x, y, 1.0f, Color.MAGENTA);
+
+        // --- Depuración (Debug) - visible con el perfilador (F3) ---
+        // El hitbox del cuerpo (rojo) para que podamos ajustarlo.
+        inst.caja(hitbox.x - x, hitbox.y - y, hitbox.width, hitbox.height, Color.RED);
     }
 
     // --- Bloque 7: Métodos Públicos (Encapsulamiento) ---
     //
-    // Propósito: Permiten a GamePanel interactuar con el Enemigo
+    // Propósito: Permiten a GameWorld interactuar con el Enemigo
     // de una forma controlada.
     //
 
     /**
-     * Llamado por GamePanel cuando el jugador golpea a este enemigo.
+     * Llamado por GameWorld cuando el jugador golpea a este enemigo.
      */
     public void perderVida() {
         this.vidas--;
-        System.out.println("Enemigo golpeado, vidas: " + vidas);
+        if (mundo.conMensajes) System.out.println("Enemigo golpeado, vidas: " + vidas);
     }
 
     /**
-     * Llamado por GamePanel para saber si este enemigo debe ser eliminado.
+     * Llamado por GameWorld para saber si este enemigo debe ser eliminado.
      */
     public int getVidas() {
         return vidas;
@@ -1,5 +1,3 @@
-import java.awt.image.BufferedImage; // Importa la clase para manejar imágenes
-
 /**
  * CLASE CONCRETA - EnemigoFemenino (Hereda de Enemigo)
  *
@@ -13,19 +11,18 @@ public class EnemigoFemenino extends Enemigo {
     //
     // Propósito: Crear una nueva instancia de 'EnemigoFemenino'.
     //
-    public EnemigoFemenino(int x, int y, GamePanel gamePanel,
-                           BufferedImage[] runRight, BufferedImage[] runLeft,
-                           BufferedImage[] attackRight, BufferedImage[] attackLeft) {
+    public EnemigoFemenino(int x, int y, GameWorld mundo) {
 
         // --- 1. Llamada a la Superclase ---
-        // Pasa toda la información común (posición, panel, imágenes)
+        // Pasa toda la información común (posición, panel, qué sprites usa)
         // al constructor de la plantilla 'Enemigo' (el 'super').
-        super(x, y, gamePanel, runRight, runLeft, attackRight, attackLeft);
+        super(x, y, mundo, SpriteRegistry.Personaje.ENEMIGO_FEMENINO);
 
         // --- 2. Especialización (Aquí está la diferencia) ---
         // Define las estadísticas que hacen a ESTE enemigo diferente.
         // Es una "glass cannon" (cañón de cristal): rápida pero débil.
-        this.vidas = 1; // Más débil (el masculino tiene 2)
+        this.vidasIniciales = 1; // Más débil (el masculino tiene 2)
+        this.vidas = vidasIniciales;
         this.velocidadMovimiento = 4; // Más rápida (el masculino tiene 3)
 
         // --- 3. Ajuste Fino del Hitbox ---
@@ -35,16 +32,16 @@ public class EnemigoFemenino extends Enemigo {
         this.hitboxPaddingY = 20;
 
         // Calcula el tamaño final del hitbox
-        this.hitbox.width = gamePanel.tileSize - (hitboxPaddingX * 2);
-        this.hitbox.height = gamePanel.tileSize - (hitboxPaddingY * 2);
+        this.hitbox.width = mundo.tileSize - (hitboxPaddingX * 2);
+        this.hitbox.height = mundo.tileSize - (hitboxPaddingY * 2);
 
-        // 'numFramesCorrer' y 'numFramesAtacar' se establecen
-        // automáticamente en el constructor de la superclase 'Enemigo'.
+        // Las animaciones (cuántos frames, cuánto dura el ataque) salen de
+        // 'Animacion.de(personaje)', en el constructor de la superclase 'Enemigo'.
     }
 
     // --- ¡MÉTODO ELIMINADO A PROPÓSITO! ---
-    // No hay 'cargarImagenes()'. Las imágenes se precargan en GamePanel
-    // y se "inyectan" a través del constructor para evitar lag.
+    // No hay 'cargarImagenes()'. Las imágenes se precargan UNA VEZ en el
+    // 'SpriteRegistry' del mundo y se comparten para evitar lag.
 
 
     // --- Bloque 2: El "Cerebro" (Implementación de IA) ---
@@ -55,7 +52,7 @@ public class EnemigoFemenino extends Enemigo {
     @Override
     protected void ejecutarIA() {
         // 1. Obtiene la distancia horizontal al jugador
-        int distanciaX = gamePanel.jugador.getX() - this.x;
+        int distanciaX = mundo.jugador.getX() - this.x;
 
         // 2. Cláusula de Guarda: La IA solo toma decisiones si NO está
         //    atacando Y NO está en cooldown.
@@ -65,35 +62,35 @@ public class EnemigoFemenino extends Enemigo {
             // Si la distancia es corta (menos de 50px)...
             if (Math.abs(distanciaX) < 50) {
                 // ...mira al jugador...
-                if (distanciaX < 0) this.direction = "left";
-                else this.direction = "right";
+                animador.mirar(distanciaX < 0
+                        ? SpriteRegistry.Orientacion.IZQUIERDA : SpriteRegistry.Orientacion.DERECHA);
                 // ...y llama al método 'atacar()' (heredado de 'Enemigo').
                 atacar();
             }
             // Si la distancia es larga...
             else {
                 // ...entra en estado de "corriendo"...
-                this.estado = "corriendo";
+                animador.cambiar(Animacion.Estado.CORRIENDO);
                 // ...y persigue al jugador.
                 if (distanciaX > 0) { // Jugador a la derecha
                     x += velocidadMovimiento;
-                    this.direction = "right";
+                    animador.mirar(SpriteRegistry.Orientacion.DERECHA);
                 } else { // Jugador a la izquierda
                     x -= velocidadMovimiento;
-                    this.direction = "left";
+                    animador.mirar(SpriteRegistry.Orientacion.IZQUIERDA);
                 }
             }
         }
         // 4. Lógica de Cooldown: Si está en cooldown, no puede atacar,
         //    pero SÍ puede seguir persiguiendo al jugador.
         else if (!this.atacando && this.enCooldown) {
-            this.estado = "corriendo";
+            animador.cambiar(Animacion.Estado.CORRIENDO);
             if (distanciaX > 0) {
                 x += velocidadMovimiento;
-                this.direction = "right";
+                animador.mirar(SpriteRegistry.Orientacion.DERECHA);
             } else {
                 x -= velocidadMovimiento;
-                this.direction = "left";
+                animador.mirar(SpriteRegistry.Orientacion.IZQUIERDA);
             }
         }
     }
@@ -1,5 +1,3 @@
-import java.awt.image.BufferedImage; // Importa la clase para manejar imágenes
-
 /**
  * CLASE CONCRETA - EnemigoMasculino (Hereda de Enemigo)
  *
@@ -12,22 +10,21 @@ public class EnemigoMasculino extends Enemigo {
     // --- Bloque 1: Constructor (La "Fábrica") ---
     //
     // Propósito: Crear una nueva instancia de 'EnemigoMasculino'.
-    // Es llamado por el 'GamePanel' (en el método spawnEnemigo).
+    // Es llamado por el 'EnemigoPool' (al pre-crear o cuando se queda sin libres).
     //
-    public EnemigoMasculino(int x, int y, GamePanel gamePanel,
-                            BufferedImage[] runRight, BufferedImage[] runLeft,
-                            BufferedImage[] attackRight, BufferedImage[] attackLeft) {
+    public EnemigoMasculino(int x, int y, GameWorld mundo) {
 
         // --- 1. Llamada a la Superclase ---
-        // Pasa toda la información "común" (posición, panel, imágenes)
+        // Pasa toda la información "común" (posición, panel, qué sprites usa)
         // al constructor de la plantilla 'Enemigo' (el 'super')
         // para que 'Enemigo' pueda manejarla.
-        super(x, y, gamePanel, runRight, runLeft, attackRight, attackLeft);
+        super(x, y, mundo, SpriteRegistry.Personaje.ENEMIGO_MASCULINO);
 
         // --- 2. Especialización (Aquí es donde se vuelve único) ---
         // Define las estadísticas que hacen a ESTE enemigo diferente.
         // (Por ejemplo, el EnemigoFemenino tendrá 'vidas = 1' y 'velocidad = 4').
-        this.vidas = 2; // Es más resistente
+        this.vidasIniciales = 2; // Es más resistente
+        this.vidas = vidasIniciales;
         this.velocidadMovimiento = 3; // Es más lento
 
         // --- 3. Ajuste Fino del Hitbox ---
@@ -37,17 +34,17 @@ public class EnemigoMasculino extends Enemigo {
         this.hitboxPaddingY = 20; // 20 píxeles de espacio arriba/abajo
 
         // Calcula el tamaño final del hitbox basado en el padding
-        this.hitbox.width = gamePanel.tileSize - (hitboxPaddingX * 2);
-        this.hitbox.height = gamePanel.tileSize - (hitboxPaddingY * 2);
+        this.hitbox.width = mundo.tileSize - (hitboxPaddingX * 2);
+        this.hitbox.height = mundo.tileSize - (hitboxPaddingY * 2);
 
-        // 'numFramesCorrer' y 'numFramesAtacar' se establecen
-        // automáticamente en el constructor de la superclase 'Enemigo'.
+        // Las animaciones (cuántos frames, cuánto dura el ataque) salen de
+        // 'Animacion.de(personaje)', en el constructor de la superclase 'Enemigo'.
     }
 
     // --- ¡MÉTODO ELIMINADO A PROPÓSITO! ---
     // No existe el método 'cargarImagenes()'.
-    // ¿Por qué? Para optimizar. Las imágenes se cargan UNA VEZ en 'GamePanel'
-    // y se "inyectan" a través del constructor. Esto previene el lag
+    // ¿Por qué? Para optimizar. Las imágenes se cargan UNA VEZ en el
+    // 'SpriteRegistry' del mundo y todos los enemigos las comparten. Esto previene el lag
     // cada vez que un nuevo enemigo aparece.
 
 
@@ -60,7 +57,7 @@ public class EnemigoMasculino extends Enemigo {
     @Override
     protected void ejecutarIA() {
         // 1. Obtiene la distancia horizontal al jugador
-        int distanciaX = gamePanel.jugador.getX() - this.x;
+        int distanciaX = mundo.jugador.getX() - this.x;
 
         // 2. Cláusula de Guarda: La IA solo toma decisiones si NO está
         //    atacando Y NO está en cooldown (esperando para el próx. ataque).
@@ -70,35 +67,35 @@ public class EnemigoMasculino extends Enemigo {
             // Si la distancia es corta (menos de 50px)...
             if (Math.abs(distanciaX) < 50) {
                 // ...mira al jugador...
-                if (distanciaX < 0) this.direction = "left";
-                else this.direction = "right";
+                animador.mirar(distanciaX < 0
+                        ? SpriteRegistry.Orientacion.IZQUIERDA : SpriteRegistry.Orientacion.DERECHA);
                 // ...y llama al método 'atacar()' (heredado de 'Enemigo').
                 atacar();
             }
             // Si la distancia es larga...
             else {
                 // ...entra en estado de "corriendo"...
-                this.estado = "corriendo";
+                animador.cambiar(Animacion.Estado.CORRIENDO);
                 // ...y persigue al jugador.
                 if (distanciaX > 0) { // Jugador a la derecha
                     x += velocidadMovimiento;
-                    this.direction = "right";
+                    animador.mirar(SpriteRegistry.Orientacion.DERECHA);
                 } else { // Jugador a la izquierda
                     x -= velocidadMovimiento;
-                    this.direction = "left";
+                    animador.mirar(SpriteRegistry.Orientacion.IZQUIERDA);
                 }
             }
         }
         // 4. Lógica de Cooldown: Si está en cooldown, no puede atacar,
         //    ¡pero SÍ puede seguir persiguiendo al jugador!
         else if (!this.atacando && this.enCooldown) {
-            this.estado = "corriendo";
+            animador.cambiar(Animacion.Estado.CORRIENDO);
             if (distanciaX > 0) {
                 x += velocidadMovimiento;
-                this.direction = "right";
+                animador.mirar(SpriteRegistry.Orientacion.DERECHA);
             } else {
                 x -= velocidadMovimiento;
-                this.direction = "left";
+                animador.mirar(SpriteRegistry.Orientacion.IZQUIERDA);
             }
         }
     }
@@ -0,0 +1,117 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CLASE DE UTILIDAD - EnemigoPool (Reciclaje de Enemigos)
+ *
+ * Propósito: Que aparecer enemigos NO cree objetos nuevos. Al empezar se
+ * crean de antemano unos cuantos enemigos de cada tipo ("pre-calentado").
+ * Cuando uno muere, vuelve al pool, y el próximo que aparezca de ese tipo es
+ * ese mismo objeto, reiniciado con 'Enemigo.reiniciar()'. Así el heap se
+ * mantiene plano y el recolector de basura no tiene nada que limpiar.
+ *
+ * Estadísticas:
+ * - aciertos: enemigos que se sacaron del pool (sin 'new').
+ * - fallos: el pool estaba vacío y hubo que crear uno nuevo.
+ * - máximo de activos: la mayor cantidad de enemigos vivos a la vez (para
+ *   elegir la capacidad del pre-calentado).
+ */
+public class EnemigoPool {
+
+    // --- Bloque 1: Estado ---
+    private final GameWorld mundo;
+    private final List<List<Enemigo>> libres = new ArrayList<>(); // Una pila por Personaje (ordinal)
+    private int activos = 0;
+    private int maximoActivos = 0;
+    private long aciertos = 0;
+    private long fallos = 0;
+
+    /**
+     * @param capacidadPorTipo Cuántos enemigos de cada tipo se crean de antemano.
+     */
+    public EnemigoPool(GameWorld mundo, int capacidadPorTipo) {
+        this.mundo = mundo;
+        for (int i = 0; i < SpriteRegistry.Personaje.values().length; i++) {
+            libres.add(new ArrayList<>(capacidadPorTipo));
+        }
+        for (SpriteRegistry.Personaje tipo : GameWorld.TIPOS_ENEMIGO) {
+            List<Enemigo> pila = libres.get(tipo.ordinal());
+            for (int i = 0; i < capacidadPorTipo; i++) {
+                pila.add(crear(tipo, 0, 0));
+            }
+        }
+    }
+
+    /**
+     * La "fábrica": el único lugar donde se hace 'new' de un enemigo.
+     */
+    private Enemigo crear(SpriteRegistry.Personaje tipo, int x, int y) {
+        switch (tipo) {
+            case ENEMIGO_MASCULINO: return new EnemigoMasculino(x, y, mundo);
+            case ENEMIGO_FEMENINO:  return new EnemigoFemenino(x, y, mundo);
+            default: throw new IllegalArgumentException("No es un tipo de enemigo: " + tipo);
+        }
+    }
+
+    // --- Bloque 2: Sacar y Devolver ---
+
+    /**
+     * @return Un enemigo del tipo pedido en (x, y), reciclado si hay alguno libre.
+     */
+    public Enemigo obtener(SpriteRegistry.Personaje tipo, int x, int y) {
+        List<Enemigo> pila = libres.get(tipo.ordinal());
+        Enemigo e;
+        if (pila.isEmpty()) {
+            fallos++;
+            e = crear(tipo, x, y);
+        } else {
+            aciertos++;
+            e = pila.remove(pila.size() - 1); // Sacar del final no mueve nada
+            e.reiniciar(x, y);
+        }
+        activos++;
+        if (activos > maximoActivos) maximoActivos = activos;
+        return e;
+    }
+
+    /**
+     * Devuelve un enemigo muerto (o descartado) para reutilizarlo más adelante.
+     */
+    public void liberar(Enemigo e) {
+        libres.get(e.personaje.ordinal()).add(e);
+        activos--;
+    }
+
+    /**
+     * Devuelve todos los enemigos de una lista y la vacía (ej. al reiniciar).
+     */
+    public void liberarTodos(List<Enemigo> enemigos) {
+        for (int i = 0; i < enemigos.size(); i++) {
+            liberar(enemigos.get(i));
+        }
+        enemigos.clear();
+    }
+
+    /**
+     * Quita el enemigo 'i' de la lista en O(1): lo reemplaza por el último
+     * (el orden no importa) y lo devuelve al pool.
+     */
+    public void quitar(List<Enemigo> enemigos, int i) {
+        int ultimo = enemigos.size() - 1;
+        Enemigo e = enemigos.get(i);
+        enemigos.set(i, enemigos.get(ultimo));
+        enemigos.remove(ultimo);
+        liberar(e);
+    }
+
+    // --- Bloque 3: Estadísticas ---
+    public long getAciertos() { return aciertos; }
+    public long getFallos() { return fallos; }
+    public int getActivos() { return activos; }
+    public int getMaximoActivos() { return maximoActivos; }
+
+    public void imprimirEstadisticas() {
+        System.out.printf("Pool de enemigos: %d reciclados, %d creados de más, máximo %d activos a la vez%n",
+                aciertos, fallos, maximoActivos);
+    }
+}
@@ -0,0 +1,23 @@
+/**
+ * INTERFAZ - Entrada (Los Botones del Jugador en un Tick)
+ *
+ * Propósito: Separar DE DÓNDE vienen los controles de la simulación. El
+ * teclado ('GamePanel'), un bot o una repetición grabada implementan esta
+ * interfaz, y 'GameWorld' la consulta una vez por tick.
+ *
+ * Los botones se devuelven como bits de un 'int' (se pueden combinar con '|').
+ */
+public interface Entrada {
+
+    int IZQUIERDA = 1;
+    int DERECHA = 1 << 1;
+    int SALTAR = 1 << 2;
+    int ATACAR = 1 << 3;
+    int ABAJO = 1 << 4;   // El jugador todavía no lo usa, pero se graba en las repeticiones
+
+    /**
+     * @param mundo El mundo antes de simular el tick (un bot puede mirarlo para decidir).
+     * @return Los botones apretados durante este tick (ej. DERECHA | ATACAR).
+     */
+    int leer(GameWorld mundo);
+}
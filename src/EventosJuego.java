@@ -0,0 +1,217 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * CLASE DE UTILIDAD - EventosJuego (El Juego Visto desde Java Flight Recorder)
+ *
+ * Propósito: Eventos propios de JFR para que una grabación muestre lo que
+ * hace el juego junto a lo que hace la JVM (pausas del GC, safepoints,
+ * compilación). Así se puede ver qué tick o qué frame "tironeó" y por qué.
+ *
+ * - juego.Tick         cada 'GamePanel.actualizar()' (duración, estado, enemigos)
+ * - juego.Render       cada pasada de dibujado (duración, sprites)
+ * - juego.Aparicion    cada 'GameWorld.spawnEnemigo()' (tipo y lado)
+ * - juego.Colision     cada golpe de 'checkColisiones()' (quién a quién)
+ * - juego.Sonido       cada efecto pedido ('SoundBank.reproducir()' / 'Sound.playSound()')
+ * - juego.CargaSprite  cada 'GameObject.loadSprite()' (ruta, bytes, tiempo de decodificación)
+ *
+ * Sin una grabación en curso (o con el evento desactivado) cada evento es
+ * un 'isEnabled()' que da 'false': el objeto no escapa y el JIT ni lo crea.
+ * Igual, cada evento se consulta en su 'EventType' ANTES de crear el objeto
+ * (los de tick y render con 'inicioTick()' / 'inicioRender()', que dan 'null'
+ * si no hay quien los registre): el JIT no siempre "inlinea" los métodos
+ * grandes que los crean, y sin inlining el objeto se crea igual.
+ *
+ * Uso (cada evento se prende, se apaga o se filtra por duración en 'juego.jfc'):
+ *   java -XX:StartFlightRecording:filename=partida.jfr,settings=profile,settings=juego.jfc Main
+ *   jfr print --events juego.Tick,jdk.GarbageCollection partida.jfr
+ */
+public final class EventosJuego {
+
+    private EventosJuego() {}
+
+    static final String CATEGORIA = "Juego";
+
+    // --- Bloque 1: Tipos de Evento ---
+
+    @Name("juego.Tick")
+    @Label("Tick")
+    @Description("Un tick de simulación (GamePanel.actualizar)")
+    @Category(CATEGORIA)
+    @StackTrace(false) // 60 por segundo: la pila no aporta nada
+    static final class Tick extends Event {
+        @Label("Tick del Mundo") long tick;
+        @Label("Estado") String estado;
+        @Label("Enemigos") int enemigos;
+    }
+
+    @Name("juego.Render")
+    @Label("Render")
+    @Description("Una pasada de dibujado de la última instantánea")
+    @Category(CATEGORIA)
+    @StackTrace(false)
+    static final class Render extends Event {
+        @Label("Tick Dibujado") long tick;
+        @Label("Sprites") int sprites;
+        @Label("Renderizado Activo") boolean activo;
+    }
+
+    @Name("juego.Aparicion")
+    @Label("Aparición de Enemigo")
+    @Category(CATEGORIA)
+    @StackTrace(false)
+    static final class Aparicion extends Event {
+        @Label("Tick del Mundo") long tick;
+        @Label("Tipo") String tipo;
+        @Label("Lado") String lado;
+        @Label("Enemigos") int enemigos;
+    }
+
+    @Name("juego.Colision")
+    @Label("Colisión")
+    @Description("Un golpe detectado por checkColisiones")
+    @Category(CATEGORIA)
+    @StackTrace(false)
+    static final class Colision extends Event {
+        @Label("Tick del Mundo") long tick;
+        @Label("Tipo") String tipo;
+        @Label("Vidas del Jugador") int vidasJugador;
+        @Label("Jugador Invencible") boolean jugadorInvencible; // El golpe no le quitó vida
+    }
+
+    @Name("juego.Sonido")
+    @Label("Efecto de Sonido")
+    @Category(CATEGORIA)
+    @StackTrace(false)
+    static final class Sonido extends Event {
+        @Label("Efecto") String efecto;
+        @Label("Volumen") float volumen;
+    }
+
+    @Name("juego.CargaSprite")
+    @Label("Carga de Sprite")
+    @Description("Un GameObject.loadSprite: la duración es la lectura y decodificación")
+    @Category(CATEGORIA)
+    static final class CargaSprite extends Event {
+        @Label("Ruta") String ruta;
+        @Label("Origen") String origen;          // "png" o "pack"
+        @Label("Ancho") int ancho;
+        @Label("Alto") int alto;
+        @Label("Bytes Decodificados") @DataAmount long bytes;
+    }
+
+    // --- Bloque 2: Tipos de Colisión ---
+    static final String GOLPE_JUGADOR = "golpe del jugador";
+    static final String PISOTON = "pisotón";
+    static final String ATAQUE_ENEMIGO = "ataque de enemigo";
+
+    // Para preguntar si un evento está activo sin crear uno
+    private static final EventType TIPO_TICK = EventType.getEventType(Tick.class);
+    private static final EventType TIPO_RENDER = EventType.getEventType(Render.class);
+    private static final EventType TIPO_APARICION = EventType.getEventType(Aparicion.class);
+    private static final EventType TIPO_COLISION = EventType.getEventType(Colision.class);
+    private static final EventType TIPO_SONIDO = EventType.getEventType(Sonido.class);
+
+    // --- Bloque 3: Atajos (cerrar y grabar solo si hay quien lo registre) ---
+
+    /**
+     * Empieza a medir un tick.
+     * @return El evento ya empezado, o 'null' si no hay quien lo registre.
+     */
+    static Tick inicioTick() {
+        if (!TIPO_TICK.isEnabled()) return null;
+        Tick e = new Tick();
+        e.begin();
+        return e;
+    }
+
+    /**
+     * Cierra el evento de un tick empezado con 'inicioTick()' (puede ser 'null').
+     */
+    static void tick(Tick e, GameWorld mundo, String estado) {
+        if (e == null) return;
+        e.end();
+        if (!e.shouldCommit()) return;
+        e.tick = mundo.getTick();
+        e.estado = estado;
+        e.enemigos = mundo.getCantidadEnemigos();
+        e.commit();
+    }
+
+    /**
+     * Empieza a medir una pasada de dibujado.
+     * @return El evento ya empezado, o 'null' si no hay quien lo registre.
+     */
+    static Render inicioRender() {
+        if (!TIPO_RENDER.isEnabled()) return null;
+        Render e = new Render();
+        e.begin();
+        return e;
+    }
+
+    /**
+     * Cierra el evento de una pasada de dibujado empezada con 'inicioRender()' (puede ser 'null').
+     */
+    static void render(Render e, Instantanea inst, boolean activo) {
+        if (e == null) return;
+        e.end();
+        if (!e.shouldCommit()) return;
+        e.tick = inst.getTick();
+        e.sprites = inst.getCantidad();
+        e.activo = activo;
+        e.commit();
+    }
+
+    static void aparicion(GameWorld mundo, SpriteRegistry.Personaje tipo, boolean izquierda) {
+        if (!TIPO_APARICION.isEnabled()) return;
+        Aparicion e = new Aparicion();
+        e.tick = mundo.getTick();
+        e.tipo = tipo.name();
+        e.lado = izquierda ? "izquierda" : "derecha";
+        e.enemigos = mundo.getCantidadEnemigos();
+        e.commit();
+    }
+
+    static void colision(GameWorld mundo, String tipo) {
+        if (!TIPO_COLISION.isEnabled()) return;
+        Colision e = new Colision();
+        e.tick = mundo.getTick();
+        e.tipo = tipo;
+        e.vidasJugador = mundo.getJugador().getVidas();
+        e.jugadorInvencible = mundo.getJugador().isInvencible();
+        e.commit();
+    }
+
+    /**
+     * Cierra un evento de carga empezado con 'begin()' y lo graba (si corresponde).
+     * @param imagen La imagen cargada, o 'null' si falló.
+     */
+    static void cargaSprite(CargaSprite e, String ruta, String origen, BufferedImage imagen) {
+        e.end();
+        if (!e.shouldCommit()) return;
+        e.ruta = ruta;
+        e.origen = origen;
+        if (imagen != null) {
+            e.ancho = imagen.getWidth();
+            e.alto = imagen.getHeight();
+            e.bytes = (long) e.ancho * e.alto * imagen.getColorModel().getPixelSize() / 8;
+        }
+        e.commit();
+    }
+
+    static void sonido(String efecto, float volumen) {
+        if (!TIPO_SONIDO.isEnabled()) return;
+        Sonido e = new Sonido();
+        e.efecto = efecto;
+        e.volumen = volumen;
+        e.commit();
+    }
+}
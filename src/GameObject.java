@@ -1,5 +1,4 @@
 import java.awt.Rectangle;
-import java.awt.Graphics2D;
 import java.awt.image.BufferedImage; // Para el método de utilidad
 import javax.imageio.ImageIO;     // Para el método de utilidad
 import java.io.IOException;     // Para el método de utilidad
@@ -21,8 +20,16 @@ public abstract class GameObject {
     */
     protected int x, y; // Posición en la pantalla
     protected int velocidadX, velocidadY; // Velocidad de movimiento
+    protected int xAnterior, yAnterior; // Posición en el tick anterior (para interpolar)
     public Rectangle hitbox; // La "caja de colisión" para la física
 
+    // Datos que usa 'SpatialHash' (celdas que ocupa el objeto en la grilla)
+    int celdaX0, celdaY0, celdaX1, celdaY1;
+    boolean enGrilla = false;
+    int marcaConsulta = 0;
+    int[] cubetasGrilla = new int[4]; // En qué cubetas está anotado (sin repetir)...
+    int[] posGrilla = new int[4];     // ...y en qué posición de cada una (para sacarlo sin buscar)
+    int numCubetasGrilla = 0;
 
     /**
      * Constructor de GameObject.
@@ -33,6 +40,8 @@ public abstract class GameObject {
         //Inicializa las propiedades básicas
         this.x = x;
         this.y = y;
+        this.xAnterior = x;
+        this.yAnterior = y;
         this.velocidadX = 0;
         this.velocidadY = 0;
 
@@ -62,24 +71,52 @@ public abstract class GameObject {
     public abstract void actualizar();
 
     /**
-     * Define cómo el objeto se dibuja a sí mismo en la pantalla.
-     * (Ej. El Jugador dibujará su sprite de correr, el Enemigo el suyo).
+     * Define cómo se dibuja el objeto: agrega sus comandos de dibujo (sprite,
+     * posición anterior y actual, hitboxes) a la instantánea del tick.
+     * No dibuja nada: lo hace después el hilo de dibujado, con la instantánea.
+     * (Ej. El Jugador agrega su sprite de correr, el Enemigo el suyo).
      */
-    public abstract void dibujar(Graphics2D g);
+    public abstract void describir(Instantanea inst);
 
 
     /**
      * Bloque 3: Getters (Acceso Seguro) ---
-     * Propósito: Permitir que otras clases (como GamePanel) LEAN
+     * Propósito: Permitir que otras clases (como GameWorld) LEAN
      * información de este objeto de forma segura, sin poder MODIFICARLA.
      * Esto es un pilar de la POO llamado Encapsulamiento.
     */
     public int getX() { return x; }
     public int getY() { return y; }
-    public Rectangle getHitbox() { return hitbox; } // Esencial para GamePanel.checkColisiones()
+    public Rectangle getHitbox() { return hitbox; } // Esencial para GameWorld.checkColisiones()
     public int getVelocidadY() { return velocidadY; } // Esencial para la lógica de "pisotón"
 
 
+    // --- Bloque 3.1: Interpolación ---
+    //
+    // Propósito: La simulación avanza en ticks fijos, pero se dibuja más seguido.
+    // Entre dos ticks, el objeto se dibuja en un punto intermedio entre su
+    // posición anterior y la actual, para que el movimiento se vea suave
+    // (las dos posiciones viajan en la 'Instantanea' del tick).
+    //
+    /**
+     * Guarda la posición actual como "anterior". GameWorld lo llama antes de cada tick.
+     */
+    public void guardarPosicionAnterior() {
+        xAnterior = x;
+        yAnterior = y;
+    }
+
+    /**
+     * Coloca el objeto en (x, y) sin interpolar desde donde estaba (ej. al reaparecer).
+     */
+    public void teletransportar(int x, int y) {
+        this.x = x;
+        this.y = y;
+        guardarPosicionAnterior();
+    }
+
+
+
     // --- Bloque 4: Método de Utilidad Estático ---
     //
     // Propósito: Crear una herramienta "ayudante" para todo el proyecto.
@@ -89,21 +126,39 @@ public abstract class GameObject {
     //
     /**
      * Carga una imagen de forma segura desde la carpeta 'res'.
+     * Si existe un paquete de sprites ('SpritePack'), la toma de ahí sin
+     * decodificar; si no, la lee del PNG con ImageIO.
      * Incluye manejo de errores para que el juego no "crashee"
      * si no se encuentra una imagen.
      * @param path La ruta a la imagen (ej. "/fondo/miFondo.png")
      * @return El objeto BufferedImage, o 'null' si falló.
      */
     public static BufferedImage loadSprite(String path) {
+        // Evento de JFR: mide la lectura + decodificación (ver 'EventosJuego')
+        EventosJuego.CargaSprite evento = new EventosJuego.CargaSprite();
+        evento.begin();
+
+        SpritePack pack = SpritePack.global();
+        if (pack != null) {
+            BufferedImage empaquetada = pack.obtener(path);
+            if (empaquetada != null) {
+                EventosJuego.cargaSprite(evento, path, "pack", empaquetada);
+                return empaquetada;
+            }
+        }
+
+        BufferedImage imagen = null;
         try {
             // Lee el archivo desde la ruta de recursos
-            return ImageIO.read(GameObject.class.getResourceAsStream(path));
+            imagen = ImageIO.read(GameObject.class.getResourceAsStream(path));
         } catch (IOException | IllegalArgumentException e) {
             // Si no encuentra el archivo (input == null) o falla la lectura,
             // imprime un error en la consola y devuelve null.
             System.err.println("Error al cargar sprite desde: " + path);
             e.printStackTrace();
-            return null; // Evita que el juego se rompa
+            // 'imagen' queda en null: evita que el juego se rompa
         }
+        EventosJuego.cargaSprite(evento, path, "png", imagen);
+        return imagen;
     }
 }
\ No newline at end of file
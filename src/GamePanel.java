@@ -6,27 +6,38 @@ import java.awt.Graphics2D;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.Font;
-import java.awt.image.BufferedImage;
+import java.awt.AWTException;
+import java.awt.BufferCapabilities;
+import java.awt.ImageCapabilities;
+import java.awt.Point;
+import java.awt.Toolkit;
+import java.awt.Window;
+import java.awt.image.BufferStrategy;
+import javax.swing.SwingUtilities;
 import javax.imageio.ImageIO;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * CLASE DIRECTORA - GamePanel (Hereda de JPanel, Implementa Runnable y KeyListener)
  *
  * Propósito: Es el motor central del juego. Gestiona:
  * 1. El Game Loop (a través de 'Runnable').
- * 2. La Máquina de Estados (Menú, Jugando, Game Over).
- * 3. El renderizado (dibujo) de todos los objetos (a través de 'JPanel').
+ * 2. La Máquina de Estados (Cargando, Menú, Jugando, Game Over).
+ * 3. El renderizado (dibujo) de todos los objetos (renderizado activo con
+ *    BufferStrategy en su propio hilo, o a través de 'JPanel' como respaldo),
+ *    siempre a partir de 'Instantanea's publicadas por el Game Loop.
  * 4. La entrada de teclado (a través de 'KeyListener').
- * 5. La creación y gestión de todos los GameObjects (Jugador, Enemigos).
+ * 5. El 'GameWorld' (la simulación: jugador, enemigos, colisiones y puntuación),
+ *    al que le pasa el teclado como 'Entrada'.
  * * (Versión con todas las correcciones de declaración y tipeo).
  */
-public class GamePanel extends JPanel implements Runnable, KeyListener {
+public class GamePanel extends JPanel implements Runnable, KeyListener, Entrada {
 
     // --- Bloque 1: Configuración de la Pantalla y el Juego ---
     final int originalTileSize = 16;
@@ -37,49 +48,130 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
 
     // --- Bloque 2: El Game Loop ---
     Thread gameThread;
-    int FPS = 60; // actualizacion de pantalla por segundo
+    public final int TPS = 60; // ticks de simulación por segundo (fijo: los contadores de ticks dependen de él)
+    int FPS = 144; // límite de frames dibujados por segundo (0 = sin límite)
+    static final int MAX_TICKS_POR_FRAME = 5; // Guarda contra la "espiral de la muerte"
+    static final long MARGEN_SPIN_NANOS = 1_500_000; // Los últimos 1.5 ms se esperan activamente
+
+    // Instantáneas de dibujo: el Game Loop describe el mundo en una por tick y
+    // quien dibuja toma siempre la última, sin locks (ver 'BufferTriple').
+    private final BufferTriple<Instantanea> instantaneas =
+            new BufferTriple<>(new Instantanea(), new Instantanea(), new Instantanea());
+
+    // Renderizado activo: un hilo propio ("Render") dibuja sobre una BufferStrategy
+    // de la ventana en vez de pedir un 'repaint()' al EDT (que puede agrupar o
+    // perder frames). Si la estrategia no se puede crear, se usa paintComponent.
+    boolean renderizadoActivo = true;
+    private Thread hiloRender;
+    private BufferStrategy bufferStrategy;
+    private Point origenEnVentana = new Point(0, 0); // Posición del panel dentro de la ventana
+    private volatile long latenciaPresentacionNanos = 0; // Lo que tardó el último show() + sync()
+
+    // Perfilador en pantalla (F3, o -Dperfil=true): tiempos de cada fase y las
+    // hitboxes. Apagado no se mide nada (ver 'Perfilador').
+    final Perfilador perfilador = new Perfilador();
+    private volatile boolean perfilActivo = Boolean.getBoolean("perfil");
+
+    // Mensajes de depuración en consola (tiempos de carga, memoria de los
+    // sprites, estadísticas del pool, cada golpe): solo con -Djuego.debug=true
+    static final boolean DEBUG = Boolean.getBoolean("juego.debug");
+
+    // Métricas siempre activas, para mirar la partida desde afuera: por JMX y,
+    // con -Dmetricas.archivo=metricas.csv (o .json), en un archivo cada
+    // -Dmetricas.periodo segundos. El Game Loop solo toca contadores.
+    final Metricas metricas = new Metricas();
+    private final Metricas.Histograma duracionTick = metricas.histograma("tick");
+    private final Metricas.Histograma duracionRender = metricas.histograma("render");
+    private final Metricas.Contador ticksDescartados = metricas.contador("ticksDescartados");
+    private final Metricas.Contador ticksJugados = metricas.contador("ticksJugados");
+    private final Metricas.Contador puntosGanados = metricas.contador("puntosGanados");
+    private int ultimaPuntuacion = 0; // Solo la usa el Game Loop
 
     // --- Bloque 3: Entrada de Teclado ---
     public boolean upPressed, downPressed, leftPressed, rightPressed;
     public boolean spacePressed;
 
     // --- Bloque 4: La Máquina de Estados ---
-    public int gameState;
+    public volatile int gameState; // Lo escriben el hilo de carga (al Menú) y el Game Loop
     public final int menuState = 0;
     public final int playState = 1;
     public final int gameOverState = 2;
+    public final int loadingState = 3;
 
-    // --- Bloque 5: Objetos del Juego (El Núcleo de POO) ---
-    Jugador jugador;
-    List<Enemigo> enemigos = new ArrayList<>(); //Extendemos de Enemigos e instanciamos un arraylist para guardar todos los enemigos
+    // Lo que pidió el teclado (ENTER en el Menú o en el Game Over). El EDT solo
+    // lo anota; el Game Loop lo aplica al empezar el tick siguiente, así el
+    // mundo lo toca UN solo hilo (el que también lo describe en las instantáneas).
+    static final int SIN_ACCION = 0, ACCION_INICIAR = 1, ACCION_REINICIAR = 2;
+    private final AtomicInteger accionPendiente = new AtomicInteger(SIN_ACCION);
 
-    // --- Bloque 6: HUD y Generador ---
+    // --- Bloque 5: El Mundo (jugador, enemigos y puntuación) ---
+    // Se declara más abajo, después de 'sprites' (sus personajes lo necesitan).
+
+    // --- Bloque 6: HUD y Capas Cacheadas ---
     Font hudFont, titleFont, menuFont;
-    private int puntuacion = 0; // puntuacion inicial
-    private Random rand = new Random(); // cantidaad de enemigos que se generan "aleatorio"
-    private int maxEnemigosEnPantalla = 2; // maximo de enemigos en pantalla
+    static final Color OSCURECER = new Color(0, 0, 0, 150); // Velo de Menú y Game Over
+
+    // Lo que casi nunca cambia se dibuja una vez y se copia (ver 'CacheCapas'):
+    // el fondo escalado, el HUD (hasta que cambian vidas o puntos) y los overlays.
+    private final CacheCapas capas = new CacheCapas(screenWidth, screenHeight);
+    private final CacheCapas.Capa capaHud = new CacheCapas.Capa(0, 0, 480, 72, this::pintarHud);
+    private final CacheCapas.Capa capaMenu = new CacheCapas.Capa(0, 0, screenWidth, screenHeight, this::pintarMenu);
+    private final CacheCapas.Capa capaGameOver = new CacheCapas.Capa(0, 0, screenWidth, screenHeight, this::pintarGameOver);
 
     // --- Bloque 7: Caché de Recursos (Optimización) ---
     //
-    // ¡CORRECCIÓN! Aquí se declaran TODOS los mapas para ambos tipos de enemigos.
+    // Todos los frames viven en el 'atlas', ya escalados a 'tileSize'.
+    // El 'SpriteRegistry' sabe qué frames forman cada animación de cada
+    // personaje, y lo comparten el jugador y todos los enemigos.
     //
-    public static Map<String, BufferedImage[]> enemyMaleRunRight = new HashMap<>();
-    public static Map<String, BufferedImage[]> enemyMaleRunLeft = new HashMap<>();
-    public static Map<String, BufferedImage[]> enemyMaleAttackRight = new HashMap<>();
-    public static Map<String, BufferedImage[]> enemyMaleAttackLeft = new HashMap<>();
-    public static Map<String, BufferedImage[]> enemyFemaleRunRight = new HashMap<>();
-    public static Map<String, BufferedImage[]> enemyFemaleRunLeft = new HashMap<>();
-    public static Map<String, BufferedImage[]> enemyFemaleAttackRight = new HashMap<>();
-    public static Map<String, BufferedImage[]> enemyFemaleAttackLeft = new HashMap<>();
+    public final SpriteAtlas atlas = new SpriteAtlas(tileSize);
+    public final SpriteRegistry sprites = new SpriteRegistry(atlas);
+    static final SpriteRegistry.Personaje[] TIPOS_ENEMIGO = GameWorld.TIPOS_ENEMIGO;
+    AssetLoader assets; // Decodifica los PNG en paralelo durante la carga
+
+    // La simulación de la partida (con sprites y sonido; semilla distinta en cada partida)
+    final GameWorld mundo = new GameWorld(System.nanoTime(), tileSize, screenWidth, sprites, true);
+
+    // Grabación y reproducción de partidas (ver 'Repeticion'); las dos son opcionales:
+    // -Drepeticion.grabar=archivo, -Drepeticion.reproducir=archivo, -Drepeticion.hashCada=N
+    private final String archivoGrabacion = System.getProperty("repeticion.grabar");
+    private final int hashCada = Integer.getInteger("repeticion.hashCada", 1);
+    private final Repeticion repeticionCargada = cargarRepeticion(System.getProperty("repeticion.reproducir"));
+    // Las dos las crea, las lee y las cierra SOLO el Game Loop ('iniciarJuego()'
+    // corre entre dos ticks): así el primer tick de la partida ya se graba o se
+    // reproduce, sin depender de cuándo vea el Game Loop lo que escribió otro hilo.
+    private Repeticion grabacion;               // La partida que se está grabando ('null' = no se graba)
+    private Repeticion.Reproductor reproductor; // 'null' = los botones vienen del teclado
+
+    // Escribe las grabaciones terminadas FUERA del Game Loop (un disco lento no
+    // debe trabar el tick del Game Over), de a una y en orden. El hilo no es
+    // daemon, para no dejar un archivo a medias, y termina solo tras 1 s sin trabajo.
+    private final ExecutorService guardadoRepeticiones = new ThreadPoolExecutor(
+            0, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            tarea -> new Thread(tarea, "GuardarRepeticion"));
+
+    // Etapas de carga, en orden de prioridad. 'nivelCargado' indica la última
+    // etapa terminada; el menú solo acepta ENTER cuando vale NIVEL_COMPLETO.
+    static final int NIVEL_NADA = 0;
+    static final int NIVEL_MENU = 1;     // Fondo, música y efectos
+    static final int NIVEL_JUGADOR = 2;  // Frames de correr del jugador
+    static final int NIVEL_COMPLETO = 3; // Enemigos y ataques
+    private volatile int nivelCargado = NIVEL_NADA;
 
     // --- Bloque 8: Recursos (Fondo y Música) ---
-    private BufferedImage fondo;
-    Sound music = new Sound();
+    // El fondo no se guarda aquí: va directo a 'capas', que lo guarda ya escalado.
+    static final String MUSICA_FONDO = "/sounds/bandaFondo_01.wav";
+    static final String MUSICA_GAME_OVER = "/sounds/GameOver_01.wav";
+    static final int FUNDIDO_MS = 800; // Duración del fundido cruzado entre pistas
+    final MusicPlayer music = new MusicPlayer(); // Música en streaming (memoria constante)
 
 
     /**
      * Constructor de GamePanel.
-     * Es la "Pantalla de Carga" del juego.
+     * Es liviano a propósito: solo prepara el panel y lanza la carga de
+     * recursos en otro hilo, para que la ventana aparezca enseguida (el
+     * constructor se ejecuta en el EDT). Mientras tanto se muestra la
+     * "Pantalla de Carga" (loadingState).
      */
     public GamePanel() {
         this.setPreferredSize(new Dimension(screenWidth, screenHeight));
@@ -92,14 +184,100 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
         titleFont = new Font("Arial", Font.BOLD, 92);
         menuFont = new Font("Arial", Font.PLAIN, 32);
 
-        cargarFondo();
-        preloadEnemyImages();
-        jugador = new Jugador(100, 600, this); // posicion del jugador inicial
+        // El juego empieza en la pantalla de carga
+        gameState = loadingState;
+        mundo.setConMensajes(DEBUG); // "¡Jugador golpeado!" en consola: solo al depurar
+        registrarMetricas();
+
+        Thread hiloCarga = new Thread(this::cargarRecursos, "CargaRecursos");
+        hiloCarga.setDaemon(true);
+        hiloCarga.start();
+    }
+
+    /**
+     * Carga todos los recursos FUERA del EDT, por etapas de prioridad.
+     * Todos los PNG se encolan al principio en ese orden (el 'AssetLoader'
+     * los atiende en orden de llegada) y luego se pasan al atlas etapa por etapa.
+     */
+    private void cargarRecursos() {
+        assets = new AssetLoader();
+        sprites.encolar(assets, SpriteRegistry.Personaje.JUGADOR, SpriteRegistry.Accion.CORRER);
+        encolarImagenesEnemigos(assets);
+        sprites.encolar(assets, SpriteRegistry.Personaje.JUGADOR, SpriteRegistry.Accion.ATACAR);
 
+        // --- Etapa 1: Menú (fondo, música y efectos de sonido) ---
+        cargarFondo();
         iniciarMusica();
+        SoundBank.global().cargar();
+        nivelCargado = NIVEL_MENU;
+        if (gameState == loadingState) {
+            gameState = menuState; // El menú ya se puede mostrar
+        }
 
-        // El juego empieza en el menú
-        gameState = menuState;
+        // --- Etapa 2: Jugador (frames de correr) ---
+        // (El jugador ya existe en 'mundo'; su animador toma los frames en cuanto están)
+        sprites.cargar(assets, SpriteRegistry.Personaje.JUGADOR, SpriteRegistry.Accion.CORRER);
+        nivelCargado = NIVEL_JUGADOR;
+
+        // --- Etapa 3: Enemigos y ataques ---
+        preloadEnemyImages(assets);
+        sprites.cargar(assets, SpriteRegistry.Personaje.JUGADOR, SpriteRegistry.Accion.ATACAR);
+        nivelCargado = NIVEL_COMPLETO;
+
+        assets.esperarTodo();
+        if (DEBUG) assets.imprimirTiempos();
+        assets.cerrar();
+        if (DEBUG) sprites.imprimirMemoria();
+
+        // Recién ahora, para no demorar la carga
+        publicarMetricas();
+    }
+
+    /**
+     * Registra los medidores: valores que se leen recién cuando alguien
+     * consulta las métricas (no le cuestan nada al Game Loop).
+     */
+    private void registrarMetricas() {
+        metricas.medidor("enemigos.vivos", mundo::getCantidadEnemigos);
+        metricas.medidor("enemigos.aparecidos", mundo::getAparecidos);
+        metricas.medidor("pool.activos", mundo.pool::getActivos);
+        metricas.medidor("pool.maximoActivos", mundo.pool::getMaximoActivos);
+        metricas.medidor("pool.aciertos", mundo.pool::getAciertos);
+        metricas.medidor("pool.fallos", mundo.pool::getFallos);
+        metricas.medidor("sonido.voces", () -> SoundBank.global().getVocesActivas());
+        metricas.medidor("sonido.descartados", () -> SoundBank.global().getComandosDescartados());
+        metricas.medidor("sprites.bytes", sprites::getBytes);
+        metricas.calculado("puntosPorMinuto", () -> {
+            long ticks = ticksJugados.getValor();
+            return (ticks == 0) ? 0 : puntosGanados.getValor() * 60.0 * TPS / ticks;
+        });
+    }
+
+    /**
+     * Publica las métricas por JMX y, si se pidió, empieza el volcado a archivo.
+     */
+    private void publicarMetricas() {
+        metricas.registrarJmx("finalproyecto:type=Metricas");
+        String archivo = System.getProperty("metricas.archivo");
+        if (archivo != null) {
+            metricas.iniciarVolcado(Paths.get(archivo), Long.getLong("metricas.periodo", 10));
+        }
+    }
+
+    /**
+     * ¿Ya se cargó todo lo necesario para jugar?
+     */
+    public boolean isCargaCompleta() {
+        return nivelCargado >= NIVEL_COMPLETO;
+    }
+
+    /**
+     * Progreso de la carga (0.0 a 1.0), para la barra de progreso.
+     */
+    public float getProgresoCarga() {
+        if (isCargaCompleta()) return 1f;
+        AssetLoader a = assets;
+        return (a == null) ? 0f : a.getProgreso();
     }
 
     /**
@@ -107,7 +285,7 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
      */
     public void cargarFondo() {
         try {
-            fondo = ImageIO.read(getClass().getResourceAsStream("/fondo/dead forest.png"));
+            capas.setFondo(ImageIO.read(getClass().getResourceAsStream("/fondo/dead forest.png")));
         } catch (IOException | IllegalArgumentException e) {
             System.err.println("Error al cargar la imagen de fondo (dead forest.png).");
             e.printStackTrace();
@@ -115,145 +293,196 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
     }
 
     /**
-     * Carga y reproduce la música de fondo en bucle.
+     * Abre la salida de la música (una sola vez) y empieza la de fondo en bucle.
+     * La pista se lee del archivo a medida que suena; no se carga entera.
      */
     public void iniciarMusica() {
-        music.setFile("/sounds/bandaFondo_01.wav");
-        music.setVolume(1.0f); // Volumen al 100%
-        music.loop();
+        music.iniciar();
+        music.setVolumen(1.0f); // Volumen al 100%
+        music.reproducir(MUSICA_FONDO, true);
     }
 
     /**
      * ¡Optimización!
-     * Carga TODOS los sprites de TODOS los tipos de enemigos UNA SOLA VEZ
-     * y los guarda en los 'Mapas Estáticos'.
-     */
-    private void preloadEnemyImages() {
-        // --- ENEMIGO MASCULINO (Carpeta /EnemyMale/) ---
-        int numFramesCorrerMale = 12;
-        int numFramesAtacarMale = 10;
-        BufferedImage[] runRightMale = new BufferedImage[numFramesCorrerMale];
-        BufferedImage[] runLeftMale = new BufferedImage[numFramesCorrerMale];
-        BufferedImage[] attackRightMale = new BufferedImage[numFramesAtacarMale];
-        BufferedImage[] attackLeftMale = new BufferedImage[numFramesAtacarMale];
-
-        for (int i = 0; i < numFramesCorrerMale; i++) {
-            runRightMale[i] = GameObject.loadSprite("/EnemyMale/" + String.format("Right - Running_%03d.png", i));
-            runLeftMale[i] = GameObject.loadSprite("/EnemyMale/" + String.format("Left - Running_%03d.png", i));
-        }
-        for (int i = 0; i < numFramesAtacarMale; i++) {
-            attackRightMale[i] = GameObject.loadSprite("/EnemyMale/attackEnemyMale/" + String.format("Right - Attacking_%03d.png", i));
-            attackLeftMale[i] = GameObject.loadSprite("/EnemyMale/attackEnemyMale/" + String.format("Left - Attacking_%03d.png", i));
-        }
-        enemyMaleRunRight.put("sprites", runRightMale);
-        enemyMaleRunLeft.put("sprites", runLeftMale);
-        enemyMaleAttackRight.put("sprites", attackRightMale);
-        enemyMaleAttackLeft.put("sprites", attackLeftMale);
-
-        // --- ENEMIGO FEMENINO (Carpeta /EnemyFemale/) ---
-        int numFramesCorrerFemale = 12;
-        int numFramesAtacarFemale = 10;
-        BufferedImage[] runRightFemale = new BufferedImage[numFramesCorrerFemale];
-        BufferedImage[] runLeftFemale = new BufferedImage[numFramesCorrerFemale];
-        BufferedImage[] attackRightFemale = new BufferedImage[numFramesAtacarFemale];
-        BufferedImage[] attackLeftFemale = new BufferedImage[numFramesAtacarFemale];
-
-        for (int i = 0; i < numFramesCorrerFemale; i++) {
-            runRightFemale[i] = GameObject.loadSprite("/EnemyFemale/" + String.format("Right - Running_%03d.png", i));
-            runLeftFemale[i] = GameObject.loadSprite("/EnemyFemale/" + String.format("Left - Running_%03d.png", i));
-        }
-        for (int i = 0; i < numFramesAtacarFemale; i++) {
-            attackRightFemale[i] = GameObject.loadSprite("/EnemyFemale/attackEnemyFemale/" + String.format("Right - Attacking_%03d.png", i));
-            attackLeftFemale[i] = GameObject.loadSprite("/EnemyFemale/attackEnemyFemale/" + String.format("Left - Attacking_%03d.png", i));
+     * Encola en el 'AssetLoader' TODOS los sprites de TODOS los tipos de enemigos,
+     * para que se decodifiquen en paralelo junto con los del jugador.
+     */
+    private void encolarImagenesEnemigos(AssetLoader assets) {
+        for (SpriteRegistry.Personaje p : TIPOS_ENEMIGO) {
+            sprites.encolar(assets, p, SpriteRegistry.Accion.CORRER);
+            sprites.encolar(assets, p, SpriteRegistry.Accion.ATACAR);
         }
-        enemyFemaleRunRight.put("sprites", runRightFemale);
-        enemyFemaleRunLeft.put("sprites", runLeftFemale);
-        enemyFemaleAttackRight.put("sprites", attackRightFemale);
-        enemyFemaleAttackLeft.put("sprites", attackLeftFemale);
-
-        System.out.println("Imágenes de enemigos precargadas.");
     }
 
-
     /**
-     * Genera un enemigo aleatorio (Masc o Fem) fuera de la pantalla.
+     * Pasa los sprites de los enemigos (ya decodificados por el 'AssetLoader')
+     * al registro de sprites, UNA sola vez para todos los enemigos de cada tipo.
      */
-    public void spawnEnemigo() {
-        int tipoEnemigo = rand.nextInt(2);
-        int lado = rand.nextInt(2);
-        int spawnX;
-
-        if (lado == 0) {
-            spawnX = -tileSize;
-        } else {
-            spawnX = screenWidth + tileSize;
+    private void preloadEnemyImages(AssetLoader assets) {
+        for (SpriteRegistry.Personaje p : TIPOS_ENEMIGO) {
+            sprites.cargar(assets, p, SpriteRegistry.Accion.CORRER);
+            sprites.cargar(assets, p, SpriteRegistry.Accion.ATACAR);
         }
+        if (DEBUG) System.out.println("Imágenes de enemigos precargadas.");
+    }
 
-        int spawnY = 600;
 
-        if (tipoEnemigo == 0) {
-            enemigos.add(new EnemigoMasculino(spawnX, spawnY, this,
-                    enemyMaleRunRight.get("sprites"), enemyMaleRunLeft.get("sprites"),
-                    enemyMaleAttackRight.get("sprites"), enemyMaleAttackLeft.get("sprites")));
-        } else {
-            enemigos.add(new EnemigoFemenino(spawnX, spawnY, this,
-                    enemyFemaleRunRight.get("sprites"), enemyFemaleRunLeft.get("sprites"),
-                    enemyFemaleAttackRight.get("sprites"), enemyFemaleAttackLeft.get("sprites")));
+    /**
+     * Aplica la acción que pidió el teclado (si hay alguna y sigue teniendo
+     * sentido en el estado actual). Solo la llama el Game Loop, entre ticks.
+     */
+    private void aplicarAccionPendiente() {
+        int accion = accionPendiente.getAndSet(SIN_ACCION);
+        if (accion == ACCION_INICIAR && gameState == menuState) {
+            iniciarJuego();
+        } else if (accion == ACCION_REINICIAR && gameState == gameOverState) {
+            reiniciarJuego();
         }
     }
 
     /**
      * (ACCIÓN DE REINICIO)
      * Resetea el juego al estado de menú después de un Game Over.
+     * Solo en el Game Loop (ver 'aplicarAccionPendiente()').
      */
-    public void reiniciarJuego() {
-        jugador.reiniciar();
-        enemigos.clear();
-        puntuacion = 0;
+    private void reiniciarJuego() {
+        mundo.reiniciar();
 
-        music.stop();
-        iniciarMusica();
+        // Vuelve a la música de fondo sin recargar nada (la línea sigue abierta)
+        music.cruzar(MUSICA_FONDO, true, FUNDIDO_MS);
         gameState = menuState;
     }
 
     /**
      * (ACCIÓN DE INICIO)
      * Pone el juego en modo "playState" y genera los primeros enemigos.
+     * Solo en el Game Loop (ver 'aplicarAccionPendiente()').
      */
-    public void iniciarJuego() {
+    private void iniciarJuego() {
+        if (repeticionCargada != null) {
+            // Cada partida vuelve a jugar la grabación desde el principio
+            reproductor = repeticionCargada.reproductor();
+            mundo.setSemilla(repeticionCargada.getSemilla());
+        } else {
+            mundo.setSemilla(System.nanoTime());
+        }
+        if (archivoGrabacion != null) {
+            grabacion = new Repeticion(mundo.getSemilla(), hashCada);
+        }
+        mundo.iniciar();
         gameState = playState;
-        spawnEnemigo();
-        spawnEnemigo();
     }
 
+    /**
+     * Lee la repetición pedida con -Drepeticion.reproducir (si hay alguna).
+     * @return La repetición, o 'null' si no se pidió o no se pudo leer.
+     */
+    private static Repeticion cargarRepeticion(String archivo) {
+        if (archivo == null) return null;
+        try {
+            Repeticion r = Repeticion.cargar(Paths.get(archivo));
+            System.out.println("Reproduciendo " + archivo + " (" + r.getTicks() + " ticks)");
+            return r;
+        } catch (IOException e) {
+            System.err.println("Error al cargar la repetición: " + archivo);
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Cierra la grabación y/o la reproducción en curso (al terminar la partida).
+     */
+    private void terminarRepeticion() {
+        if (grabacion != null) {
+            // Desde aquí la grabación ya no cambia: la escribe otro hilo
+            Repeticion terminada = grabacion;
+            grabacion = null;
+            guardadoRepeticiones.execute(() -> guardarRepeticion(terminada));
+        }
+        if (reproductor != null) {
+            System.out.println(reproductor.resumen());
+            reproductor = null;
+        }
+    }
+
+
+    /**
+     * Escribe una grabación terminada (en el hilo "GuardarRepeticion").
+     */
+    private void guardarRepeticion(Repeticion terminada) {
+        try {
+            terminada.guardar(Paths.get(archivoGrabacion));
+            System.out.println("Partida grabada en " + archivoGrabacion + " (" + terminada.getTicks() + " ticks)");
+        } catch (IOException e) {
+            System.err.println("Error al guardar la repetición: " + archivoGrabacion);
+            e.printStackTrace();
+        }
+    }
 
     /**
      * Inicia el Game Loop. Es llamado 1 vez desde 'Main'.
      */
     public void startGameThread() {
-        gameThread = new Thread(this);
+        if (renderizadoActivo) {
+            crearBufferStrategy();
+        }
+        gameThread = new Thread(this, "GameLoop");
         gameThread.start();
+
+        if (bufferStrategy != null) {
+            hiloRender = new Thread(this::bucleRender, "Render");
+            hiloRender.start();
+        }
     }
 
     /**
      * MÉTODO DE 'Runnable'
-     * Este es el Game Loop.
+     * Este es el Game Loop de paso fijo ("fixed timestep").
+     *
+     * La simulación avanza siempre en ticks de 1/TPS segundos, consumidos desde un
+     * acumulador de tiempo real; así la velocidad del juego no depende de los FPS.
+     * Tras simular, publica una 'Instantanea' con lo que hay que dibujar y
+     * duerme hasta el próximo tick. El dibujado ocurre en OTRO hilo
+     * ('bucleRender()', o el EDT en el camino pasivo), en paralelo con la
+     * simulación del tick siguiente.
      */
     @Override
     public void run() {
-        double drawInterval = 1000000000.0 / FPS;
-        double nextDrawTime = System.nanoTime() + drawInterval;
+        final long nanosPorTick = 1_000_000_000L / TPS;
+        long anterior = System.nanoTime();
+        long acumulador = 0;
 
         while (gameThread != null) {
             try {
-                actualizar();
-                repaint();
+                long ahora = System.nanoTime();
+                acumulador += ahora - anterior;
+                anterior = ahora;
+
+                // 1. Simulación: tantos ticks fijos como quepan en el tiempo acumulado
+                int ticks = 0;
+                while (acumulador >= nanosPorTick && ticks < MAX_TICKS_POR_FRAME) {
+                    aplicarAccionPendiente(); // ENTER: empezar o reiniciar (pedido por el EDT)
+                    guardarEstadoAnterior();
+                    actualizar();
+                    acumulador -= nanosPorTick;
+                    ticks++;
+                }
+                // Si tras un "tirón" seguimos atrasados, se descarta el tiempo sobrante
+                // en vez de intentar recuperarlo (lo que atrasaría todavía más).
+                if (acumulador >= nanosPorTick) {
+                    ticksDescartados.sumar(acumulador / nanosPorTick);
+                    acumulador %= nanosPorTick;
+                }
 
-                double remainingTime = nextDrawTime - System.nanoTime();
-                remainingTime = remainingTime / 1000000;
-                if (remainingTime < 0) remainingTime = 0;
-                Thread.sleep((long) remainingTime);
-                nextDrawTime += drawInterval;
+                // 2. Publica lo que hay que dibujar (el tick "ocurrió" hace 'acumulador' ns)
+                if (ticks > 0) {
+                    publicarInstantanea(ahora - acumulador);
+                    if (bufferStrategy == null) repaint(); // Camino pasivo: dibuja el EDT
+                }
+
+                // 3. Espera al próximo tick
+                esperarHasta(anterior + nanosPorTick - acumulador);
 
             } catch (Exception e) {
                 System.err.println("Error en el Game Loop principal:");
@@ -263,124 +492,314 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
     }
 
     /**
-     * El "Cerebro" del Juego. Se llama 60 veces por segundo desde 'run()'.
-     * Aquí es donde se ejecuta la MÁQUINA DE ESTADOS.
+     * Describe el mundo (y el estado del juego) en la instantánea libre y la
+     * publica para el hilo que dibuja.
      */
-    public void actualizar() {
+    private void publicarInstantanea(long tiempoNanos) {
+        Instantanea inst = instantaneas.escritura();
+        mundo.describir(inst, tiempoNanos);
+        inst.setEstado(gameState);
+        instantaneas.publicar();
+    }
 
-        if (gameState == playState) {
-            jugador.actualizar();
+    /**
+     * Bucle del hilo "Render" (solo con renderizado activo).
+     * Dibuja la última instantánea tan rápido como permita el display (o el
+     * límite 'FPS'). Nunca toca los objetos del juego.
+     */
+    private void bucleRender() {
+        long proximoFrame = System.nanoTime();
+        while (gameThread != null) {
+            try {
+                renderizar();
+
+                if (FPS > 0) {
+                    long nanosPorFrame = 1_000_000_000L / FPS;
+                    proximoFrame += nanosPorFrame;
+                    if (proximoFrame < System.nanoTime() - nanosPorFrame) {
+                        proximoFrame = System.nanoTime(); // Resincroniza tras un atraso
+                    }
+                    esperarHasta(proximoFrame);
+                }
 
-            if (enemigos.size() < maxEnemigosEnPantalla && rand.nextInt(100) < 1) {
-                spawnEnemigo();
+            } catch (Exception e) {
+                System.err.println("Error en el hilo de dibujado:");
+                e.printStackTrace();
             }
+        }
+    }
 
-            for (int i = 0; i < enemigos.size(); i++) {
-                Enemigo e = enemigos.get(i);
-                e.actualizar();
+    /**
+     * Espera hasta el instante 'objetivo' (en nanoTime): duerme mientras queda
+     * tiempo de sobra y los últimos 'MARGEN_SPIN_NANOS' los espera activamente,
+     * porque Thread.sleep() solo es preciso al milisegundo (o peor).
+     */
+    private void esperarHasta(long objetivo) throws InterruptedException {
+        long restante = objetivo - System.nanoTime();
+        while (restante > MARGEN_SPIN_NANOS) {
+            Thread.sleep((restante - MARGEN_SPIN_NANOS) / 1_000_000);
+            restante = objetivo - System.nanoTime();
+        }
+        while (objetivo - System.nanoTime() > 0) {
+            Thread.onSpinWait();
+        }
+    }
 
-                if (e.getVidas() <= 0) {
-                    enemigos.remove(i);
-                    puntuacion += 100;
-                    i--;
-                }
+    /**
+     * Guarda la posición actual de los objetos antes de simular un tick,
+     * para poder interpolar entre el estado anterior y el nuevo al dibujar.
+     */
+    private void guardarEstadoAnterior() {
+        if (gameState != playState) return; // Solo se mueve algo durante la partida
+        mundo.guardarEstadoAnterior();
+    }
+
+    /**
+     * Fracción (0..1) del tick siguiente a 'inst' que ya transcurrió (para interpolar).
+     */
+    private double getInterpolacion(Instantanea inst) {
+        double alpha = (double) (System.nanoTime() - inst.getTiempoNanos()) / (1_000_000_000L / TPS);
+        return Math.max(0, Math.min(1, alpha));
+    }
+
+    /**
+     * El "Cerebro" del Juego. Se llama 60 veces por segundo desde 'run()'.
+     * Aquí es donde se ejecuta la MÁQUINA DE ESTADOS.
+     */
+    public void actualizar() {
+        EventosJuego.Tick evento = EventosJuego.inicioTick(); // Para JFR (ver 'EventosJuego')
+        long inicio = System.nanoTime();
+        Perfilador perf = perfilActivo ? perfilador : null;
+        mundo.setPerfilador(perf);
+        if (perf != null) perf.inicioTick();
+
+        if (gameState == playState) {
+            // El teclado es la 'Entrada' del mundo, salvo que se esté reproduciendo una grabación
+            mundo.paso(reproductor != null ? reproductor : this);
+            if (grabacion != null) grabacion.anotar(mundo);
+            ticksJugados.incrementar();
+            int puntos = mundo.getPuntuacion();
+            if (puntos > ultimaPuntuacion) puntosGanados.sumar(puntos - ultimaPuntuacion);
+            ultimaPuntuacion = puntos; // Al reiniciar vuelve a 0 y se sigue contando desde ahí
+            if (reproductor != null && (!reproductor.verificar(mundo) || reproductor.isTerminado())) {
+                // Se acabó (o ya no coincide): desde aquí sigue jugando el teclado
+                System.out.println(reproductor.resumen());
+                reproductor = null;
             }
-            checkColisiones();
 
-            if (jugador.getVidas() <= 0) {
+            if (mundo.isTerminado()) {
                 gameState = gameOverState;
-                music.stop();
-                Sound.playSound("/sounds/GameOver_01.wav", 1.0f);
+                // La música de fondo se funde con la de Game Over
+                music.cruzar(MUSICA_GAME_OVER, false, FUNDIDO_MS);
+                if (DEBUG) mundo.pool.imprimirEstadisticas();
+                terminarRepeticion();
             }
         }
+
+        // Envía al hilo de audio los sonidos pedidos en este tick (agrupados)
+        SoundBank.global().finDeTick();
+
+        duracionTick.registrar(System.nanoTime() - inicio);
+        if (perf != null) perf.finTick(mundo);
+        EventosJuego.tick(evento, mundo, nombreEstado(gameState));
     }
 
     /**
-     * Comprueba todas las colisiones entre el jugador y los enemigos.
+     * @return El nombre de un estado (para los eventos de JFR).
      */
-    public void checkColisiones() {
+    private String nombreEstado(int estado) {
+        if (estado == playState) return "jugando";
+        if (estado == menuState) return "menú";
+        if (estado == gameOverState) return "game over";
+        return "cargando";
+    }
 
-        // 1. ¿El JUGADOR golpea a un ENEMIGO?
-        // se hce una verificacion si el jugador golpea a el enemigo, si esto es
-        // true se reproduce el sonido
-        if (jugador.isAtacando()) {
-            for (Enemigo e : enemigos) {
-                if (jugador.hitboxAtaque.intersects(e.getHitbox())) {
-                    e.perderVida();
-                    Sound.playSound("/sounds/ataque-golpe_01.wav", 1.0f);
-                }
-            }
+    /**
+     * Crea la BufferStrategy sobre la ventana que contiene al panel.
+     * Debe llamarse en el EDT y con la ventana ya visible (desde 'startGameThread()').
+     * Intenta primero "page flipping"; si el sistema no lo soporta, usa "blit".
+     */
+    private void crearBufferStrategy() {
+        Window ventana = SwingUtilities.getWindowAncestor(this);
+        if (ventana == null || !ventana.isDisplayable()) {
+            System.err.println("Renderizado activo no disponible: el panel no está en una ventana visible.");
+            renderizadoActivo = false;
+            return;
         }
 
-        for (Enemigo e : enemigos) {
-            // A. Colisión por "Pisotón" (cuerpo a cuerpo)
-            if (jugador.getHitbox().intersects(e.getHitbox())) {
-                if (jugador.getVelocidadY() > 0 &&
-                        !jugador.isInvencible() &&
-                        !jugador.isAtacando()) {
+        try {
+            ventana.createBufferStrategy(2, new BufferCapabilities(
+                    new ImageCapabilities(true), new ImageCapabilities(true),
+                    BufferCapabilities.FlipContents.UNDEFINED));
+        } catch (AWTException e) {
+            // Sin page flipping: la versión sin capacidades cae a "blit" automáticamente
+            ventana.createBufferStrategy(2);
+        }
 
-                    e.perderVida();
-                    jugador.rebotar();
-                }
-            }
+        ventana.setIgnoreRepaint(true);
+        this.setIgnoreRepaint(true);
+        bufferStrategy = ventana.getBufferStrategy();
+        origenEnVentana = SwingUtilities.convertPoint(this, 0, 0, ventana);
+        if (DEBUG) System.out.println("Renderizado activo: page flipping = "
+                + bufferStrategy.getCapabilities().isPageFlipping());
+    }
 
-            // B. Colisión por "Ataque de Enemigo"
-            if (e.atacando && e.hitboxAtaque.intersects(jugador.getHitbox())) {
-                jugador.perderVida();
-            }
+    /**
+     * Presenta un frame. Con renderizado activo dibuja la escena directamente en
+     * la BufferStrategy, la muestra y sincroniza con el Toolkit; si no, vuelve
+     * al camino pasivo de 'repaint()'.
+     */
+    private void renderizar() {
+        if (bufferStrategy == null) {
+            repaint();
+            return;
+        }
+
+        EventosJuego.Render evento = EventosJuego.inicioRender();
+        Perfilador perf = perfilActivo ? perfilador : null;
+        long inicio = System.nanoTime();
+        long nanosDibujo = 0;
+        Instantanea inst = instantaneas.lectura();
+        do {
+            do {
+                Graphics2D g2 = (Graphics2D) bufferStrategy.getDrawGraphics();
+                long inicioDibujo = (perf != null) ? System.nanoTime() : 0;
+                try {
+                    g2.translate(origenEnVentana.x, origenEnVentana.y);
+                    g2.clipRect(0, 0, screenWidth, screenHeight);
+                    dibujarEscena(g2, inst);
+                } finally {
+                    g2.dispose();
+                }
+                if (perf != null) nanosDibujo += System.nanoTime() - inicioDibujo;
+            } while (bufferStrategy.contentsRestored()); // Se redibuja si el buffer se restauró
+            bufferStrategy.show();
+        } while (bufferStrategy.contentsLost()); // Se repite si el buffer se perdió
+
+        Toolkit.getDefaultToolkit().sync(); // Fuerza el envío al display (importante en Linux)
+        latenciaPresentacionNanos = System.nanoTime() - inicio;
+        duracionRender.registrar(latenciaPresentacionNanos);
+        EventosJuego.render(evento, inst, true);
+
+        if (perf != null) {
+            perf.anotar(Perfilador.DIBUJO, nanosDibujo);
+            perf.anotar(Perfilador.PRESENTACION, latenciaPresentacionNanos - nanosDibujo);
+            perf.finFrame();
         }
     }
 
+    /**
+     * Tiempo (en nanosegundos) que tardó la última presentación activa.
+     * Vale 0 mientras se use el camino pasivo.
+     */
+    public long getLatenciaPresentacionNanos() {
+        return latenciaPresentacionNanos;
+    }
+
     /**
      * MÉTODO DE 'JPanel'
-     * El "Artista" del Juego. Dibuja la pantalla correcta según el gameState.
+     * Camino pasivo (respaldo): Swing llama a este método en el EDT tras un 'repaint()'.
      */
     @Override
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
-        Graphics2D g2 = (Graphics2D) g;
+        if (bufferStrategy != null) return; // Ya dibuja el hilo "Render" (único lector de instantáneas)
+        EventosJuego.Render evento = EventosJuego.inicioRender();
+        Perfilador perf = perfilActivo ? perfilador : null;
+        long inicio = System.nanoTime();
 
-        // --- 1. Dibuja el Fondo (Siempre) ---
-        if (fondo != null) {
-            g2.drawImage(fondo, 0, 0, screenWidth, screenHeight, null);
-        } else {
-            g2.setColor(Color.BLACK);
-            g2.fillRect(0, 0, screenWidth, screenHeight);
+        Graphics2D g2 = (Graphics2D) g;
+        Instantanea inst = instantaneas.lectura();
+        dibujarEscena(g2, inst);
+        g2.dispose();
+        long nanosDibujo = System.nanoTime() - inicio;
+        duracionRender.registrar(nanosDibujo);
+        EventosJuego.render(evento, inst, false);
+
+        if (perf != null) {
+            // Camino pasivo: Swing presenta después, fuera de este método
+            perf.anotar(Perfilador.DIBUJO, nanosDibujo);
+            perf.finFrame();
         }
+    }
 
-        // --- 2. Dibuja según el estado ---
-        if (gameState == playState) {
-            jugador.dibujar(g2);
-            for (Enemigo e : enemigos) {
-                e.dibujar(g2);
-            }
-            dibujarHud(g2); // Dibuja el HUD
+    /**
+     * El "Artista" del Juego. Dibuja la pantalla correcta según el estado.
+     * Lo usan tanto el renderizado activo como 'paintComponent'.
+     * Todo sale de la instantánea 'inst', también el estado: así la pantalla
+     * y los sprites son siempre del mismo tick (nunca se lee 'gameState').
+     */
+    private void dibujarEscena(Graphics2D g2, Instantanea inst) {
+        // --- 1. Dibuja el Fondo (Siempre; ya escalado, o negro si no hay) ---
+        capas.dibujarFondo(g2);
 
-        } else if (gameState == menuState) {
+        // --- 2. Dibuja según el estado ---
+        int estado = inst.getEstado();
+        if (estado == playState) {
+            double alpha = getInterpolacion(inst);
+            inst.dibujar(g2, atlas, tileSize, alpha);
+            if (perfilActivo) inst.dibujarCajas(g2, alpha); // Hitboxes: solo para depurar
+            dibujarHud(g2, inst); // Dibuja el HUD
+
+        } else if (estado == menuState) {
             dibujarMenu(g2);
 
-        } else if (gameState == gameOverState) {
-            dibujarGameOver(g2);
+        } else if (estado == gameOverState) {
+            dibujarGameOver(g2, inst);
+
+        } else { // Cargando (o todavía no se publicó ningún tick)
+            dibujarCarga(g2);
         }
 
-        g2.dispose();
+        // --- 3. El perfilador, encima de todo ---
+        if (perfilActivo) {
+            perfilador.dibujar(g2, screenWidth - 8, 8, inst.getCantidad());
+        }
+    }
+
+    /**
+     * Muestra u oculta el perfilador (tecla F3).
+     */
+    public void alternarPerfilador() {
+        if (!perfilActivo) {
+            perfilador.reanudar(); // Antes de activarlo: la pausa no cuenta como un frame lento
+        }
+        perfilActivo = !perfilActivo;
     }
 
     /**
      * Dibuja el HUD (Vidas y Puntuación).
+     * El texto solo se vuelve a rasterizar cuando cambian las vidas o los puntos.
      */
-    public void dibujarHud(Graphics2D g2) {
+    public void dibujarHud(Graphics2D g2, Instantanea inst) {
+        capaHud.dibujar(g2, CacheCapas.clave(inst.getVidas(), inst.getPuntuacion()));
+    }
+
+    private void pintarHud(Graphics2D g2, long clave) {
         g2.setFont(hudFont);
         g2.setColor(Color.WHITE);
-        g2.drawString("Vidas: " + jugador.getVidas(), 20, 30);
-        g2.drawString("Puntuación: " + puntuacion, 20, 60);
+        g2.drawString("Vidas: " + CacheCapas.primero(clave), 20, 30);
+        g2.drawString("Puntuación: " + CacheCapas.segundo(clave), 20, 60);
     }
 
     /**
-     * Dibuja la pantalla de Menú.
+     * Dibuja la pantalla de Menú (el velo y los textos están cacheados;
+     * solo la barra de progreso se dibuja en cada frame).
      */
     public void dibujarMenu(Graphics2D g2) {
-        g2.setColor(new Color(0, 0, 0, 150));
+        boolean listo = isCargaCompleta();
+        capaMenu.dibujar(g2, listo ? 1 : 0);
+        if (!listo) {
+            // El resto de los recursos sigue cargando en segundo plano
+            dibujarBarraProgreso(g2, screenHeight / 2 + 80);
+        }
+    }
+
+    /**
+     * Pinta el Menú en su capa. 'clave' = 1 si ya se puede empezar.
+     */
+    private void pintarMenu(Graphics2D g2, long clave) {
+        g2.setColor(OSCURECER);
         g2.fillRect(0, 0, screenWidth, screenHeight);
 
         g2.setColor(Color.WHITE);
@@ -388,14 +807,47 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
         g2.drawString("MI JUEGO POO", screenWidth / 2 - 400, screenHeight / 2 - 100);
 
         g2.setFont(menuFont);
-        g2.drawString("Presiona ENTER para Empezar", screenWidth / 2 - 200, screenHeight / 2 + 50);
+        if (clave == 1) {
+            g2.drawString("Presiona ENTER para Empezar", screenWidth / 2 - 200, screenHeight / 2 + 50);
+        } else {
+            g2.drawString("Cargando...", screenWidth / 2 - 80, screenHeight / 2 + 50);
+        }
     }
 
     /**
-     * Dibuja la pantalla de Game Over.
+     * Dibuja la pantalla de Carga (antes de que el menú esté listo).
      */
-    public void dibujarGameOver(Graphics2D g2) {
-        g2.setColor(new Color(0, 0, 0, 150));
+    public void dibujarCarga(Graphics2D g2) {
+        g2.setColor(Color.WHITE);
+        g2.setFont(menuFont);
+        g2.drawString("Cargando...", screenWidth / 2 - 80, screenHeight / 2);
+        dibujarBarraProgreso(g2, screenHeight / 2 + 30);
+    }
+
+    /**
+     * Dibuja una barra de progreso horizontal centrada, a la altura 'y'.
+     */
+    private void dibujarBarraProgreso(Graphics2D g2, int y) {
+        int ancho = 400;
+        int alto = 20;
+        int x = (screenWidth - ancho) / 2;
+
+        g2.setColor(Color.DARK_GRAY);
+        g2.fillRect(x, y, ancho, alto);
+        g2.setColor(Color.WHITE);
+        g2.fillRect(x, y, (int) (ancho * getProgresoCarga()), alto);
+        g2.drawRect(x, y, ancho, alto);
+    }
+
+    /**
+     * Dibuja la pantalla de Game Over (se pinta una vez por puntuación final).
+     */
+    public void dibujarGameOver(Graphics2D g2, Instantanea inst) {
+        capaGameOver.dibujar(g2, inst.getPuntuacion());
+    }
+
+    private void pintarGameOver(Graphics2D g2, long puntuacion) {
+        g2.setColor(OSCURECER);
         g2.fillRect(0, 0, screenWidth, screenHeight);
 
         g2.setColor(Color.RED);
@@ -411,6 +863,21 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
 
     // --- Bloque 16: El Controlador de Teclado (Métodos 'KeyListener') ---
 
+    /**
+     * MÉTODO DE 'Entrada'
+     * Traduce las teclas apretadas a los botones que entiende el mundo.
+     */
+    @Override
+    public int leer(GameWorld mundo) {
+        int botones = 0;
+        if (leftPressed) botones |= Entrada.IZQUIERDA;
+        if (rightPressed) botones |= Entrada.DERECHA;
+        if (upPressed) botones |= Entrada.SALTAR;
+        if (downPressed) botones |= Entrada.ABAJO;
+        if (spacePressed) botones |= Entrada.ATACAR;
+        return botones;
+    }
+
     /**
      * MÉTODO DE 'KeyListener'
      */
@@ -425,6 +892,12 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
     public void keyPressed(KeyEvent e) {
         int code = e.getKeyCode();
 
+        // F3 funciona en cualquier estado
+        if (code == KeyEvent.VK_F3) {
+            alternarPerfilador();
+            return;
+        }
+
         // --- Router de Teclado ---
         if (gameState == playState) {
             if (code == KeyEvent.VK_UP || code == KeyEvent.VK_W) upPressed = true;
@@ -435,13 +908,14 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
             if (code == KeyEvent.VK_SPACE) spacePressed = true;
 
         } else if (gameState == menuState) {
-            if (code == KeyEvent.VK_ENTER) {
-                iniciarJuego();
+            // Solo se puede empezar cuando terminó la carga de enemigos y ataques
+            if (code == KeyEvent.VK_ENTER && isCargaCompleta()) {
+                accionPendiente.set(ACCION_INICIAR); // La aplica el Game Loop
             }
 
         } else if (gameState == gameOverState) {
             if (code == KeyEvent.VK_ENTER) {
-                reiniciarJuego();
+                accionPendiente.set(ACCION_REINICIAR); // La aplica el Game Loop
             }
         }
     }
@@ -0,0 +1,447 @@
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * CLASE NÚCLEO - GameWorld (La Simulación, sin Pantalla)
+ *
+ * Propósito: Contener TODA la lógica de una partida (jugador, enemigos,
+ * aparición de enemigos, colisiones y puntuación) separada de Swing.
+ * 'GamePanel' crea un mundo y lo avanza 60 veces por segundo con el teclado;
+ * 'SimuladorHeadless' crea miles, sin ventana, y los avanza lo más rápido
+ * posible con bots.
+ *
+ * Cada mundo tiene su propio 'Random' con semilla: la misma semilla y los
+ * mismos botones dan siempre la misma partida ('Repeticion' lo aprovecha, y
+ * 'hashEstado()' permite comprobarlo tick por tick).
+ *
+ * Uso: 'iniciar()' y luego 'paso(entrada)' una vez por tick hasta que
+ * 'isTerminado()' (el jugador se quedó sin vidas).
+ */
+public class GameWorld {
+
+    // --- Bloque 1: Configuración ---
+    public static final int TILE_SIZE = 112;   // El mismo 'tileSize' del juego (16 * 7)
+    public static final int ANCHO = 1024;      // El mismo ancho de pantalla del juego
+    static final int SUELO_Y = 600;            // Altura de los pies de todos los personajes
+    static final int JUGADOR_X_INICIAL = 100;
+
+    public final int tileSize;
+    public final int ancho;
+    public final SpriteRegistry sprites; // 'null' en simulaciones sin gráficos
+    final boolean conSonido;             // ¿Pedir efectos al 'SoundBank'?
+    boolean conMensajes = false;         // ¿Imprimir "golpeado" en consola? (solo para depurar)
+    private int maxEnemigosEnPantalla = 2;
+    // Desde cuántos enemigos se actualizan en varios hilos (-Denemigos.umbralParalelo=N; 0 = nunca)
+    private int umbralParalelo = Integer.getInteger("enemigos.umbralParalelo", 512);
+    private Perfilador perfilador = null; // Mide cada fase de 'paso()' ('null' = no se mide)
+
+    // --- Bloque 2: Objetos del Juego ---
+    final Jugador jugador;
+    final List<Enemigo> enemigos = new ArrayList<>();
+    // Grilla de colisiones: cada enemigo anotado en las celdas (de 'tileSize') que toca
+    final SpatialHash<Enemigo> grilla;
+    private final List<Enemigo> candidatos = new ArrayList<>(); // Resultado de consultas (reutilizado)
+    // Opcional (-Denemigos.soa=true): enemigos en arrays de primitivos en vez de objetos.
+    // Si está activo, 'enemigos' y 'grilla' quedan vacíos y todo pasa por 'almacen'.
+    final AlmacenEnemigos almacen;
+    // Enemigos pre-creados y reciclados (-Denemigos.pool=N por tipo; no hace falta con el almacén)
+    final EnemigoPool pool;
+
+    // Todos los mundos comparten los hilos del ForkJoinPool común
+    private static final ActualizacionParalela PARALELO = new ActualizacionParalela(ForkJoinPool.commonPool());
+    // Efectos de la etapa paralela, anotados por trozo: el trozo 't' escribe los
+    // índices de sus muertos en muertos[t * TROZO ...] y cuántos en muertosEnTrozo[t]
+    private int[] muertos = new int[0];
+    private int[] muertosEnTrozo = new int[0];
+
+    static final SpriteRegistry.Personaje[] TIPOS_ENEMIGO = {
+            SpriteRegistry.Personaje.ENEMIGO_MASCULINO, SpriteRegistry.Personaje.ENEMIGO_FEMENINO };
+
+    // --- Bloque 3: Estado de la Partida ---
+    private final Random rand;
+    private long semilla;
+    private int puntuacion = 0;
+    private long tick = 0;
+    private long aparecidos = 0;  // Enemigos aparecidos desde que se creó el mundo (no se reinicia)
+    private int botones = 0;      // Lo que devolvió la 'Entrada' en este tick
+    private boolean terminado = false;
+
+    /**
+     * Mundo con el tamaño del juego, sin gráficos ni sonido (para simular).
+     */
+    public GameWorld(long semilla) {
+        this(semilla, TILE_SIZE, ANCHO, null, false);
+    }
+
+    /**
+     * @param sprites El registro de sprites para dibujar, o 'null' si nadie va a dibujar este mundo.
+     */
+    public GameWorld(long semilla, int tileSize, int ancho, SpriteRegistry sprites, boolean conSonido) {
+        this.rand = new Random(semilla);
+        this.semilla = semilla;
+        this.tileSize = tileSize;
+        this.ancho = ancho;
+        this.sprites = sprites;
+        this.conSonido = conSonido;
+
+        this.grilla = new SpatialHash<>(tileSize);
+        this.jugador = new Jugador(JUGADOR_X_INICIAL, SUELO_Y, this);
+        this.almacen = Boolean.getBoolean("enemigos.soa") ? new AlmacenEnemigos(this, 64) : null;
+        this.pool = new EnemigoPool(this, (almacen != null) ? 0 : Integer.getInteger("enemigos.pool", 8));
+    }
+
+    // --- Bloque 4: Ciclo de la Partida ---
+
+    /**
+     * Empieza la partida con los primeros enemigos.
+     */
+    public void iniciar() {
+        spawnEnemigo();
+        spawnEnemigo();
+    }
+
+    /**
+     * Vuelve a sembrar el 'Random' de la partida. Debe llamarse antes de
+     * 'iniciar()' para que la partida dependa solo de esta semilla.
+     */
+    public void setSemilla(long semilla) {
+        this.semilla = semilla;
+        rand.setSeed(semilla);
+    }
+
+    /**
+     * Vuelve todo al estado inicial (los enemigos vuelven al pool).
+     */
+    public void reiniciar() {
+        jugador.reiniciar();
+        grilla.limpiar();
+        pool.liberarTodos(enemigos);
+        if (almacen != null) almacen.limpiar();
+        puntuacion = 0;
+        tick = 0;
+        terminado = false;
+    }
+
+    /**
+     * Guarda la posición actual de los objetos antes de simular un tick,
+     * para poder interpolar entre el estado anterior y el nuevo al dibujar.
+     */
+    public void guardarEstadoAnterior() {
+        jugador.guardarPosicionAnterior();
+        for (int i = 0; i < enemigos.size(); i++) { // Con índice: sin crear un Iterator por tick
+            enemigos.get(i).guardarPosicionAnterior();
+        }
+        if (almacen != null) almacen.guardarPosicionesAnteriores();
+    }
+
+    /**
+     * Simula UN tick (1/60 de segundo de juego) con los botones de 'entrada'.
+     */
+    public void paso(Entrada entrada) {
+        if (terminado) return;
+        Perfilador perf = perfilador;
+        long t = (perf != null) ? System.nanoTime() : 0;
+
+        botones = entrada.leer(this);
+        tick++;
+        if (perf != null) t = perf.fase(Perfilador.ENTRADA, t);
+
+        jugador.actualizar();
+        if (perf != null) t = perf.fase(Perfilador.JUGADOR, t);
+
+        if (getCantidadEnemigos() < maxEnemigosEnPantalla && rand.nextInt(100) < 1) {
+            spawnEnemigo();
+        }
+        if (perf != null) t = perf.fase(Perfilador.APARICION, t);
+
+        if (almacen != null) {
+            int muertosAlmacen = usarParalelo(almacen.getCantidad())
+                    ? almacen.actualizar(jugador, PARALELO) : almacen.actualizar(jugador);
+            puntuacion += 100 * muertosAlmacen;
+        }
+        if (usarParalelo(enemigos.size())) {
+            actualizarEnemigosEnParalelo();
+        } else {
+            for (int i = 0; i < enemigos.size(); i++) {
+                Enemigo e = enemigos.get(i);
+                e.actualizar();
+
+                if (e.getVidas() <= 0) {
+                    grilla.quitar(e);
+                    pool.quitar(enemigos, i); // O(1): el último ocupa su lugar
+                    puntuacion += 100;
+                    i--;
+                } else {
+                    actualizarEnGrilla(e);
+                }
+            }
+        }
+        if (perf != null) t = perf.fase(Perfilador.ENEMIGOS, t);
+
+        checkColisiones();
+        if (perf != null) perf.fase(Perfilador.COLISIONES, t);
+
+        if (jugador.getVidas() <= 0) {
+            terminado = true;
+        }
+    }
+
+    private boolean usarParalelo(int cantidad) {
+        return umbralParalelo > 0 && cantidad >= umbralParalelo;
+    }
+
+    /**
+     * Actualiza a los enemigos de la lista en dos fases:
+     * 1. En paralelo, por trozos: IA, movimiento, animación y temporizadores.
+     *    Cada enemigo solo escribe su propio estado; lo que afecta a TODOS
+     *    (quién murió) se anota en el espacio de su trozo.
+     * 2. En este hilo: se juntan los trozos EN ORDEN y se aplica lo anotado
+     *    (quitar de la grilla y de la lista, sumar puntos) y se actualiza la
+     *    grilla, que no se puede tocar desde varios hilos.
+     * El resultado no depende de cuántos hilos haya ni de cuál terminó primero.
+     */
+    private void actualizarEnemigosEnParalelo() {
+        final int n = enemigos.size();
+        int trozos = ActualizacionParalela.cantidadTrozos(n);
+        if (muertos.length < n) muertos = new int[n * 2];
+        if (muertosEnTrozo.length < trozos) muertosEnTrozo = new int[trozos * 2];
+
+        // Fase 1 (varios hilos)
+        PARALELO.ejecutar(n, (trozo, desde, hasta) -> {
+            int cantidadMuertos = 0;
+            for (int i = desde; i < hasta; i++) {
+                Enemigo e = enemigos.get(i);
+                e.actualizar();
+                if (e.getVidas() <= 0) {
+                    muertos[desde + cantidadMuertos++] = i;
+                }
+            }
+            muertosEnTrozo[trozo] = cantidadMuertos;
+        });
+
+        // Fase 2 (este hilo): de atrás hacia adelante, así cada "quitar" (que
+        // trae al último a ese lugar) nunca mueve a un muerto que falta quitar
+        for (int t = trozos - 1; t >= 0; t--) {
+            int base = t * ActualizacionParalela.TROZO;
+            for (int k = muertosEnTrozo[t] - 1; k >= 0; k--) {
+                int i = muertos[base + k];
+                grilla.quitar(enemigos.get(i));
+                pool.quitar(enemigos, i);
+                puntuacion += 100;
+            }
+        }
+        for (int i = 0; i < enemigos.size(); i++) {
+            actualizarEnGrilla(enemigos.get(i));
+        }
+    }
+
+    /**
+     * Genera un enemigo aleatorio (Masc o Fem) fuera de la pantalla.
+     */
+    public void spawnEnemigo() {
+        aparecidos++;
+        int tipoEnemigo = rand.nextInt(2);
+        int lado = rand.nextInt(2);
+        int spawnX = (lado == 0) ? -tileSize : ancho + tileSize;
+
+        if (almacen != null) {
+            almacen.agregar(tipoEnemigo == 0 ? AlmacenEnemigos.MASCULINO : AlmacenEnemigos.FEMENINO, spawnX, SUELO_Y);
+        } else {
+            // Reciclado del pool: no se crea ningún objeto nuevo
+            enemigos.add(pool.obtener(TIPOS_ENEMIGO[tipoEnemigo], spawnX, SUELO_Y));
+        }
+        EventosJuego.aparicion(this, TIPOS_ENEMIGO[tipoEnemigo], lado == 0);
+    }
+
+    // --- Bloque 5: Colisiones ---
+
+    /**
+     * Anota al enemigo en la grilla con todo lo que puede chocar: su cuerpo y,
+     * si está atacando, también su hitbox de ataque.
+     */
+    private void actualizarEnGrilla(Enemigo e) {
+        Rectangle cuerpo = e.getHitbox();
+        int x0 = cuerpo.x, y0 = cuerpo.y;
+        int x1 = cuerpo.x + cuerpo.width, y1 = cuerpo.y + cuerpo.height;
+        if (e.atacando && e.hitboxAtaque.width > 0) {
+            Rectangle ataque = e.hitboxAtaque;
+            x0 = Math.min(x0, ataque.x);
+            y0 = Math.min(y0, ataque.y);
+            x1 = Math.max(x1, ataque.x + ataque.width);
+            y1 = Math.max(y1, ataque.y + ataque.height);
+        }
+        grilla.actualizar(e, x0, y0, x1, y1);
+    }
+
+    /**
+     * Comprueba todas las colisiones entre el jugador y los enemigos.
+     * La grilla da los enemigos CERCANOS (fase amplia) y 'intersects' decide
+     * si de verdad chocan (fase precisa).
+     */
+    public void checkColisiones() {
+        if (almacen != null) {
+            almacen.checkColisiones(jugador);
+            return;
+        }
+
+        // 1. ¿El JUGADOR golpea a un ENEMIGO?
+        // se hce una verificacion si el jugador golpea a el enemigo, si esto es
+        // true se reproduce el sonido
+        if (jugador.isAtacando()) {
+            grilla.consultar(jugador.hitboxAtaque, candidatos);
+            for (int i = 0; i < candidatos.size(); i++) {
+                Enemigo e = candidatos.get(i);
+                if (jugador.hitboxAtaque.intersects(e.getHitbox())) {
+                    e.perderVida();
+                    sonido(SoundBank.Efecto.GOLPE, 1.0f);
+                    EventosJuego.colision(this, EventosJuego.GOLPE_JUGADOR);
+                }
+            }
+        }
+
+        grilla.consultar(jugador.getHitbox(), candidatos);
+        for (int i = 0; i < candidatos.size(); i++) {
+            Enemigo e = candidatos.get(i);
+            // A. Colisión por "Pisotón" (cuerpo a cuerpo)
+            if (jugador.getHitbox().intersects(e.getHitbox())) {
+                if (jugador.getVelocidadY() > 0 &&
+                        !jugador.isInvencible() &&
+                        !jugador.isAtacando()) {
+
+                    e.perderVida();
+                    jugador.rebotar();
+                    EventosJuego.colision(this, EventosJuego.PISOTON);
+                }
+            }
+
+            // B. Colisión por "Ataque de Enemigo"
+            if (e.atacando && e.hitboxAtaque.intersects(jugador.getHitbox())) {
+                jugador.perderVida();
+                EventosJuego.colision(this, EventosJuego.ATAQUE_ENEMIGO);
+            }
+        }
+    }
+
+    /**
+     * Describe el estado actual (sprites, hitboxes y HUD) en 'inst', para que
+     * otro hilo lo dibuje sin tocar los objetos del mundo.
+     * Requiere 'sprites' (solo lo usa el mundo de la ventana).
+     * @param tiempoNanos El 'System.nanoTime()' en que "ocurrió" este tick.
+     */
+    public void describir(Instantanea inst, long tiempoNanos) {
+        inst.limpiar();
+        jugador.describir(inst);
+        for (int i = 0; i < enemigos.size(); i++) {
+            enemigos.get(i).describir(inst);
+        }
+        if (almacen != null) almacen.describir(inst);
+        inst.hud(jugador.getVidas(), puntuacion, tick, tiempoNanos);
+    }
+
+    // --- Bloque 6: Efectos hacia afuera (sonido y consola) ---
+
+    /**
+     * Pide un efecto de sonido, solo si este mundo tiene sonido (el de la ventana).
+     */
+    void sonido(SoundBank.Efecto efecto, float volumen) {
+        if (conSonido) SoundBank.reproducir(efecto, volumen);
+    }
+
+    // --- Bloque 7: Consultas (para la pantalla, los bots y las pruebas) ---
+
+    public Jugador getJugador() { return jugador; }
+    public long getSemilla() { return semilla; }
+    public int getPuntuacion() { return puntuacion; }
+    public long getTick() { return tick; }
+    public long getAparecidos() { return aparecidos; }
+    public boolean isTerminado() { return terminado; }
+
+    /** Los botones de este tick (los lee 'Jugador.actualizar()'). */
+    public int getBotones() { return botones; }
+
+    public boolean boton(int boton) {
+        return (botones & boton) != 0;
+    }
+
+    /**
+     * @return Cuántos enemigos hay en juego (en la lista o en el almacén).
+     */
+    public int getCantidadEnemigos() {
+        return (almacen != null) ? almacen.getCantidad() : enemigos.size();
+    }
+
+    /**
+     * @return La 'x' del enemigo más cercano al jugador, o Integer.MIN_VALUE si no hay ninguno.
+     */
+    public int xEnemigoMasCercano() {
+        int mejor = Integer.MIN_VALUE;
+        long mejorDistancia = Long.MAX_VALUE;
+        int n = getCantidadEnemigos();
+        for (int i = 0; i < n; i++) {
+            int ex = (almacen != null) ? almacen.getX(i) : enemigos.get(i).getX();
+            long d = Math.abs((long) ex - jugador.getX());
+            if (d < mejorDistancia) {
+                mejorDistancia = d;
+                mejor = ex;
+            }
+        }
+        return mejor;
+    }
+
+    /**
+     * Resume en un 'int' el estado que importa de la simulación (tick, puntos,
+     * jugador y enemigos). Dos mundos con el mismo hash en el mismo tick
+     * están, con altísima probabilidad, en el mismo estado.
+     * Los enemigos se combinan con una SUMA, que no depende del orden: así da
+     * lo mismo con la lista (que reordena al quitar) que con el almacén.
+     */
+    public int hashEstado() {
+        int h = (int) tick;
+        h = 31 * h + puntuacion;
+        h = 31 * h + jugador.getX();
+        h = 31 * h + jugador.getY();
+        h = 31 * h + jugador.getVelocidadY();
+        h = 31 * h + jugador.getVidas();
+        h = 31 * h + (jugador.isAtacando() ? 1 : 0);
+
+        int n = getCantidadEnemigos();
+        int sumaEnemigos = 0;
+        for (int i = 0; i < n; i++) {
+            if (almacen != null) {
+                sumaEnemigos += mezclar(almacen.getX(i), almacen.getY(i), almacen.getVidas(i));
+            } else {
+                Enemigo e = enemigos.get(i);
+                sumaEnemigos += mezclar(e.getX(), e.getY(), e.getVidas());
+            }
+        }
+        h = 31 * h + n;
+        return 31 * h + sumaEnemigos;
+    }
+
+    /**
+     * Mezcla los datos de un enemigo en un 'int' bien repartido (para que la suma no se "cancele").
+     */
+    private static int mezclar(int x, int y, int vidas) {
+        int m = x * 0x9E3779B1 + y;
+        m = m * 31 + vidas;
+        m ^= m >>> 16;
+        m *= 0x85EBCA6B;
+        m ^= m >>> 13;
+        return m;
+    }
+
+    public void setMaxEnemigosEnPantalla(int max) { this.maxEnemigosEnPantalla = max; }
+    public void setUmbralParalelo(int umbral) { this.umbralParalelo = umbral; }
+
+    /**
+     * Pone (o quita, con 'null') el perfilador que mide las fases de cada 'paso()'.
+     */
+    public void setPerfilador(Perfilador perfilador) {
+        this.perfilador = perfilador;
+    }
+
+    public void setConMensajes(boolean conMensajes) { this.conMensajes = conMensajes; }
+}
@@ -0,0 +1,185 @@
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.util.Arrays;
+
+/**
+ * CLASE DE DATOS - Instantanea (Lo que hay que Dibujar en un Tick)
+ *
+ * Propósito: Separar el dibujado de la simulación. Al final de cada tick el
+ * Game Loop "describe" el mundo en una Instantanea: una lista de comandos de
+ * dibujo (qué sprite, dónde estaba, dónde está, con qué opacidad), los
+ * valores del HUD y el estado del juego (qué pantalla mostrar). El hilo que dibuja SOLO lee instantáneas, nunca los
+ * objetos del juego, así que puede dibujar mientras el Game Loop ya está
+ * simulando el tick siguiente (se las pasan con un 'BufferTriple').
+ *
+ * Los arrays se reutilizan de un tick al siguiente (solo crecen): describir
+ * el mundo no crea objetos nuevos.
+ */
+public class Instantanea {
+
+    // --- Bloque 1: Comandos de Sprite ---
+    // Un comando ocupa CAMPOS enteros seguidos en 'sprites'.
+    static final int SPRITE = 0, X_ANTERIOR = 1, Y_ANTERIOR = 2, X = 3, Y = 4;
+    static final int CAMPOS = 5;
+
+    private int[] sprites = new int[16 * CAMPOS];
+    private float[] opacidad = new float[16];
+    private Color[] respaldo = new Color[16]; // Color del cuadrado si el sprite no existe
+    private int cantidad = 0;
+
+    // --- Bloque 2: Cajas de Depuración (hitboxes) ---
+    // Se anotan siempre (es barato) pero solo se dibujan con el perfilador activo.
+    // Cada caja va pegada a un comando de sprite ('dueno') y se dibuja desplazada
+    // igual que él, para que no "tiemble" respecto del sprite al interpolar.
+    static final int DUENO = 0, DX = 1, DY = 2, ANCHO = 3, ALTO = 4;
+    static final int CAMPOS_CAJA = 5;
+
+    private int[] cajas = new int[16 * CAMPOS_CAJA];
+    private Color[] colorCaja = new Color[16];
+    private int cantidadCajas = 0;
+
+    // --- Bloque 3: HUD y Tiempo ---
+    private int vidas = 0;
+    private int puntuacion = 0;
+    private long tick = 0;
+    private long tiempoNanos = 0; // Instante (nanoTime) del tick que describe
+
+    // El estado de 'GamePanel' en ese tick (Menú, Partida, ...), para que la
+    // pantalla y los sprites que se dibujan sean siempre del MISMO tick
+    public static final int SIN_ESTADO = -1; // Todavía no se publicó ningún tick
+    private int estado = SIN_ESTADO;
+
+    // --- Bloque 4: Escritura (solo el Game Loop) ---
+
+    /**
+     * Vacía la instantánea para describir un tick nuevo (no libera memoria).
+     */
+    public void limpiar() {
+        cantidad = 0;
+        cantidadCajas = 0;
+    }
+
+    /**
+     * Agrega un sprite que se mueve de (xAnterior, yAnterior) a (x, y) durante el tick.
+     * @param respaldo Color del cuadrado que se dibuja si el sprite no es válido.
+     */
+    public void sprite(int id, int xAnterior, int yAnterior, int x, int y, float opacidad, Color respaldo) {
+        if (cantidad == this.opacidad.length) {
+            int capacidad = cantidad * 2;
+            sprites = Arrays.copyOf(sprites, capacidad * CAMPOS);
+            this.opacidad = Arrays.copyOf(this.opacidad, capacidad);
+            this.respaldo = Arrays.copyOf(this.respaldo, capacidad);
+        }
+        int base = cantidad * CAMPOS;
+        sprites[base + SPRITE] = id;
+        sprites[base + X_ANTERIOR] = xAnterior;
+        sprites[base + Y_ANTERIOR] = yAnterior;
+        sprites[base + X] = x;
+        sprites[base + Y] = y;
+        this.opacidad[cantidad] = opacidad;
+        this.respaldo[cantidad] = respaldo;
+        cantidad++;
+    }
+
+    /**
+     * Agrega una caja de depuración pegada al ÚLTIMO sprite agregado.
+     * (dx, dy) es la posición de la caja relativa a la (x, y) actual del sprite.
+     */
+    public void caja(int dx, int dy, int ancho, int alto, Color color) {
+        if (cantidadCajas == colorCaja.length) {
+            int capacidad = cantidadCajas * 2;
+            cajas = Arrays.copyOf(cajas, capacidad * CAMPOS_CAJA);
+            colorCaja = Arrays.copyOf(colorCaja, capacidad);
+        }
+        int base = cantidadCajas * CAMPOS_CAJA;
+        cajas[base + DUENO] = cantidad - 1;
+        cajas[base + DX] = dx;
+        cajas[base + DY] = dy;
+        cajas[base + ANCHO] = ancho;
+        cajas[base + ALTO] = alto;
+        colorCaja[cantidadCajas] = color;
+        cantidadCajas++;
+    }
+
+    /**
+     * Guarda los valores del HUD y a qué tick corresponde la instantánea.
+     * @param tiempoNanos El 'System.nanoTime()' en que "ocurrió" el tick.
+     */
+    public void hud(int vidas, int puntuacion, long tick, long tiempoNanos) {
+        this.vidas = vidas;
+        this.puntuacion = puntuacion;
+        this.tick = tick;
+        this.tiempoNanos = tiempoNanos;
+    }
+
+    /**
+     * Guarda el estado del juego en que se describió el tick.
+     */
+    public void setEstado(int estado) {
+        this.estado = estado;
+    }
+
+    // --- Bloque 5: Lectura (solo el hilo que dibuja) ---
+
+    public int getVidas() { return vidas; }
+    public int getPuntuacion() { return puntuacion; }
+    public long getTick() { return tick; }
+    public long getTiempoNanos() { return tiempoNanos; }
+    public int getEstado() { return estado; }
+    public int getCantidad() { return cantidad; }
+
+    /**
+     * Dibuja todos los sprites, interpolando sus posiciones.
+     * @param alpha Fracción del tick transcurrida (0 = anterior, 1 = actual).
+     */
+    public void dibujar(Graphics2D g, SpriteAtlas atlas, int tamano, double alpha) {
+        Composite original = g.getComposite();
+        for (int i = 0; i < cantidad; i++) {
+            int base = i * CAMPOS;
+            int dibujoX = interpolar(sprites[base + X_ANTERIOR], sprites[base + X], alpha);
+            int dibujoY = interpolar(sprites[base + Y_ANTERIOR], sprites[base + Y], alpha);
+
+            if (opacidad[i] < 1f) {
+                g.setComposite(TRANSLUCIDO[Math.max(0, Math.round(opacidad[i] * 255))]);
+            }
+            if (!atlas.dibujar(g, sprites[base + SPRITE], dibujoX, dibujoY)) {
+                g.setColor(respaldo[i]);
+                g.fillRect(dibujoX, dibujoY, tamano, tamano);
+            }
+            if (opacidad[i] < 1f) {
+                g.setComposite(original);
+            }
+        }
+    }
+
+    /**
+     * Dibuja las cajas de depuración (hitboxes) sobre sus sprites, interpoladas
+     * igual que en 'dibujar()'. Solo se usa con el perfilador a la vista.
+     */
+    public void dibujarCajas(Graphics2D g, double alpha) {
+        for (int c = 0; c < cantidadCajas; c++) {
+            int base = c * CAMPOS_CAJA;
+            int dueno = cajas[base + DUENO] * CAMPOS;
+            int dibujoX = interpolar(sprites[dueno + X_ANTERIOR], sprites[dueno + X], alpha);
+            int dibujoY = interpolar(sprites[dueno + Y_ANTERIOR], sprites[dueno + Y], alpha);
+            g.setColor(colorCaja[c]);
+            g.drawRect(dibujoX + cajas[base + DX], dibujoY + cajas[base + DY],
+                    cajas[base + ANCHO], cajas[base + ALTO]);
+        }
+    }
+
+    // Una 'AlphaComposite' por cada opacidad posible (de 0/255 a 255/255), creadas
+    // una vez: 'AlphaComposite.getInstance()' crea un objeto nuevo en cada llamada
+    private static final AlphaComposite[] TRANSLUCIDO = new AlphaComposite[256];
+    static {
+        for (int i = 0; i < TRANSLUCIDO.length; i++) {
+            TRANSLUCIDO[i] = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, i / 255f);
+        }
+    }
+
+    private static int interpolar(int anterior, int actual, double alpha) {
+        return (int) Math.round(anterior + (actual - anterior) * alpha);
+    }
+}
@@ -1,8 +1,3 @@
-import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
-import java.io.IOException;
-import java.awt.AlphaComposite; // Para el efecto de "parpadeo" (transparencia)
 import java.awt.Rectangle;    // Para los hitboxes
 import java.awt.Color;        // Para dibujar los hitboxes de depuración
 
@@ -17,10 +12,10 @@ public class Jugador extends GameObject {
 
     // --- Bloque 1: Propiedades Específicas del Jugador ---
 
-    // Referencia al GamePanel. Esto es un ejemplo de 'Composición'.
-    // El Jugador 'tiene una' referencia al panel para poder LEER
-    // el estado de las teclas (ej. gamePanel.leftPressed).
-    private GamePanel gamePanel;
+    // Referencia al mundo. Esto es un ejemplo de 'Composición'.
+    // El Jugador 'tiene una' referencia al mundo para poder LEER
+    // los botones de este tick (ej. mundo.boton(Entrada.IZQUIERDA)).
+    private GameWorld mundo;
     private int vidas;
 
     // --- Bloque 2: Variables de Estado ---
@@ -35,21 +30,14 @@ public class Jugador extends GameObject {
 
     // --- Bloque 3: Animación ---
     //
-    // Propósito: Arrays para almacenar las secuencias de imágenes
-    // (sprites) que componen las animaciones.
+    // Propósito: Los frames NO se guardan aquí: viven en el 'SpriteRegistry'
+    // del mundo, compartido con los enemigos (y con cualquier otro jugador).
+    // El 'Animador' lleva el estado, la orientación y el frame actual.
     //
-    public BufferedImage[] runRightAnimation;
-    public BufferedImage[] runLeftAnimation;
-    public BufferedImage[] attackRightAnimation;
-    public BufferedImage[] attackLeftAnimation;
-    private int numFramesCorrer = 12; // Constante para saber el tamaño del array
-    private int numFramesAtacar = 10; // Constante para saber el tamaño del array
-
-    // Variables de estado para la animación
-    private String direction = "stand"; // "stand", "right", "left"
-    private String lastDirection = "right"; // Para saber hacia dónde mirar al estar quieto
-    private int spriteCounter = 0; // Temporizador para cambiar de frame
-    private int spriteNum = 0;     // El frame actual a dibujar (ej. de 0 a 11)
+    private static final SpriteRegistry.Personaje PERSONAJE = SpriteRegistry.Personaje.JUGADOR;
+    private static final Animacion ANIMACION = Animacion.de(PERSONAJE);
+    private final Animador animador;
+    private boolean corriendo = false; // ¿Se movió en el último tick en que pudo moverse?
 
     // --- Bloque 4: Física y Salto ---
     //
@@ -73,16 +61,16 @@ public class Jugador extends GameObject {
 
     /**
      * Constructor del Jugador.
-     * Se llama 1 vez (desde GamePanel) cuando se crea el jugador.
+     * Se llama 1 vez (desde GameWorld) cuando se crea el jugador.
      */
-    public Jugador(int x, int y, GamePanel gamePanel) {
+    public Jugador(int x, int y, GameWorld mundo) {
         // --- 1. Inicialización del Padre ---
         // Llama al constructor de GameObject (el "super") para
         // inicializar 'x' e 'y'.
         super(x, y);
 
         // --- 2. Inicialización de Propiedades ---
-        this.gamePanel = gamePanel; // Guarda la referencia al GamePanel
+        this.mundo = mundo; // Guarda la referencia al mundo
         this.vidas = 3;
         this.velocidadX = 4; // Píxeles que se mueve por frame
         this.velocidadY = 0; // Empieza quieto
@@ -97,54 +85,21 @@ public class Jugador extends GameObject {
         this.hitboxPaddingY = 16; // 16 píxeles de espacio arriba/abajo
 
         // Cálculo: 80 - (20 * 2) = 40 de ancho
-        this.hitbox.width = gamePanel.tileSize - (hitboxPaddingX * 2);
+        this.hitbox.width = mundo.tileSize - (hitboxPaddingX * 2);
         // Cálculo: 80 - (16 * 2) = 48 de alto
-        this.hitbox.height = gamePanel.tileSize - (hitboxPaddingY * 2);
+        this.hitbox.height = mundo.tileSize - (hitboxPaddingY * 2);
 
         // Inicializa el hitbox de ataque (vacío)
         this.hitboxAtaque = new Rectangle(0, 0, 0, 0);
 
-        // --- 4. Preparación de Animaciones ---
-        // Reserva espacio en memoria para los arrays de imágenes
-        this.runRightAnimation = new BufferedImage[numFramesCorrer];
-        this.runLeftAnimation = new BufferedImage[numFramesCorrer];
-        this.attackRightAnimation = new BufferedImage[numFramesAtacar];
-        this.attackLeftAnimation = new BufferedImage[numFramesAtacar];
-
-        // Llama al método que cargará las imágenes del disco
-        cargarImagenes();
-    }
-
-    /**
-     * Carga todos los sprites del jugador desde la carpeta 'res'.
-     * Se llama 1 vez desde el constructor.
-     */
-    public void cargarImagenes() {
-        try {
-            // Define las rutas a las carpetas de recursos
-            String pathCorrer = "/";
-            String pathAtacar = "/attackPlayer/";
-
-            // Bucle 'for' para cargar los 12 frames de correr
-            for (int i = 0; i < numFramesCorrer; i++) {
-                runRightAnimation[i] = ImageIO.read(getClass().getResourceAsStream(pathCorrer + String.format("Right - Running_%03d.png", i)));
-                runLeftAnimation[i] = ImageIO.read(getClass().getResourceAsStream(pathCorrer + String.format("Left - Running_%03d.png", i)));
-            }
-            // Bucle 'for' para cargar los 10 frames de atacar
-            for (int i = 0; i < numFramesAtacar; i++) {
-                attackRightAnimation[i] = ImageIO.read(getClass().getResourceAsStream(pathAtacar + String.format("Right - Attacking_%03d.png", i)));
-                attackLeftAnimation[i] = ImageIO.read(getClass().getResourceAsStream(pathAtacar + String.format("Left - Attacking_%03d.png", i)));
-            }
-            // El 'catch' es un seguro por si faltan archivos, para que el juego no crashee.
-        } catch (IOException | IllegalArgumentException e) {
-            System.err.println("Error al cargar imágenes del jugador.");
-            e.printStackTrace();
-        }
+        // (Las animaciones ya están en 'mundo.sprites': no se carga nada aquí)
+        this.animador = new Animador(mundo.sprites, PERSONAJE,
+                Animacion.Estado.QUIETO, SpriteRegistry.Orientacion.DERECHA);
     }
 
     /**
      * MÉTODO ABSTRACTO IMPLEMENTADO (De GameObject)
-     * Es el "cerebro" del jugador. Se llama 60 veces por segundo desde el GamePanel.
+     * Es el "cerebro" del jugador. Se llama una vez por tick desde 'GameWorld.paso()'.
      */
     @Override
     public void actualizar() {
@@ -154,16 +109,16 @@ public class Jugador extends GameObject {
         //
         // Solo permite moverse si NO está atacando
         if (!atacando) {
-            if (gamePanel.leftPressed) {
-                x -= velocidadX; direction = "left"; lastDirection = "left";
-            } else if (gamePanel.rightPressed) {
-                x += velocidadX; direction = "right"; lastDirection = "right";
+            if (mundo.boton(Entrada.IZQUIERDA)) {
+                x -= velocidadX; corriendo = true; animador.mirar(SpriteRegistry.Orientacion.IZQUIERDA);
+            } else if (mundo.boton(Entrada.DERECHA)) {
+                x += velocidadX; corriendo = true; animador.mirar(SpriteRegistry.Orientacion.DERECHA);
             } else {
-                direction = "stand";
+                corriendo = false;
             }
         }
         // Solo permite saltar si está en el suelo Y no está atacando
-        if (gamePanel.upPressed && enElSuelo && !atacando) {
+        if (mundo.boton(Entrada.SALTAR) && enElSuelo && !atacando) {
             this.velocidadY = fuerzaSalto; // Aplica el impulso de salto
             this.enElSuelo = false;
         }
@@ -191,7 +146,7 @@ public class Jugador extends GameObject {
         // (Pasos 7 y 8 del código)
         //
         // 1. Revisa si el jugador QUIERE atacar
-        if (gamePanel.spacePressed && !atacando) {
+        if (mundo.boton(Entrada.ATACAR) && !atacando) {
             atacar(); // Llama al método que inicia el estado de ataque
         }
 
@@ -209,7 +164,7 @@ public class Jugador extends GameObject {
                 // Lo centra verticalmente
                 int attackY = (y + hitboxPaddingY) + (hitbox.height - attackHeight) / 2;
 
-                if (lastDirection.equals("left")) {
+                if (animador.getOrientacion() == SpriteRegistry.Orientacion.IZQUIERDA) {
                     // Coloca el hitbox a la izquierda del jugador
                     int attackX = (x + hitboxPaddingX) - attackWidth;
                     hitboxAtaque.setBounds(attackX, attackY, attackWidth, attackHeight);
@@ -227,7 +182,7 @@ public class Jugador extends GameObject {
             }
 
             // 3. Finaliza el estado de ataque
-            if (contadorAtaque > (numFramesAtacar * 3)) { // 30 ticks
+            if (contadorAtaque > ANIMACION.clip(Animacion.Estado.ATACANDO).duracionTicks()) { // 30 ticks
                 atacando = false;
                 contadorAtaque = 0;
             }
@@ -248,67 +203,44 @@ public class Jugador extends GameObject {
         // --- Bloque 5: Lógica de Animación ---
         // (Paso 10 del código)
         //
-        // Llama al método 'ayudante' que cambia el frame del sprite
-        actualizarAnimacion();
+        // Le dice al animador en qué estado quedó y avanza su frame
+        if (atacando) {
+            animador.cambiar(Animacion.Estado.ATACANDO);
+        } else {
+            animador.cambiar(corriendo ? Animacion.Estado.CORRIENDO : Animacion.Estado.QUIETO);
+        }
+        animador.avanzar();
     }
 
     /**
      * Inicia el estado de ataque. Es llamado por 'actualizar()'.
      */
     private void atacar() {
-        atacando = true; // Activa el estado
-        spriteNum = 0;   // Inicia la animación de ataque desde el frame 0
+        atacando = true; // Activa el estado (la animación de ataque empieza desde el frame 0)
         contadorAtaque = 0; // Inicia el temporizador de ataque
-        Sound.playSound("/sounds/ataque-antes-golpe_01.wav", 0.8f); // Reproduce el "whoosh"
+        mundo.sonido(SoundBank.Efecto.ANTES_GOLPE, 0.8f); // Reproduce el "whoosh"
     }
 
     /**
-     * Método ayudante para manejar la lógica de qué frame mostrar.
-     * Se llama 60 veces por segundo desde 'actualizar()'.
-     */
-    private void actualizarAnimacion() {
-        spriteCounter++; // Avanza el temporizador de frames
-
-        // Cambiamos de frame cada 3 ticks (60 / 3 = 20 FPS)
-        if (spriteCounter > 2) {
-            spriteNum++; // Pasa al siguiente frame
-
-            // Si estamos atacando, usamos el array de ataque
-            if (atacando) {
-                if (spriteNum >= numFramesAtacar) {
-                    spriteNum = numFramesAtacar - 1; // Se queda en el último frame
-                }
-                // Si no, usamos el array de correr
-            } else {
-                if (spriteNum >= numFramesCorrer) {
-                    spriteNum = 0; // Vuelve al inicio del bucle de correr
-                }
-            }
-            spriteCounter = 0; // Reinicia el temporizador de frames
-        }
-    }
-
-    /**
-     * Método público llamado por 'GamePanel' cuando hay una colisión.
-     * Esto es Encapsulamiento: GamePanel no le *quita* vidas, le *pide* que pierda una.
+     * Método público llamado por 'GameWorld' cuando hay una colisión.
+     * Esto es Encapsulamiento: GameWorld no le *quita* vidas, le *pide* que pierda una.
      */
     public void perderVida() {
         // Solo pierde vida si NO es invencible
         if (!invencible) {
             this.vidas--;
             this.invencible = true; // Activa la invencibilidad (mercy frames)
-            Sound.playSound("/sounds/ataque-golpe_01.wav", 1.0f); // Sonido de daño
-            System.out.println("¡Jugador golpeado! Vidas restantes: " + this.vidas);
+            mundo.sonido(SoundBank.Efecto.GOLPE, 1.0f); // Sonido de daño
+            if (mundo.conMensajes) System.out.println("¡Jugador golpeado! Vidas restantes: " + this.vidas);
         }
     }
 
     /**
      * ¡NUEVO! Resetea al jugador.
-     * Llamado por 'GamePanel' cuando el jugador reinicia el juego.
+     * Llamado por 'GameWorld' cuando el jugador reinicia el juego.
      */
     public void reiniciar() {
-        this.x = 100; // Posición inicial
-        this.y = 600; // Posición inicial
+        teletransportar(GameWorld.JUGADOR_X_INICIAL, GameWorld.SUELO_Y); // Posición inicial (sin interpolar desde donde murió)
         this.vidas = 3;
         this.invencible = false;
         this.atacando = false;
@@ -316,86 +248,58 @@ public class Jugador extends GameObject {
         this.contadorInvencible = 0;
         this.velocidadY = 0;
         this.enElSuelo = true;
-        this.direction = "stand";
-        this.lastDirection = "right";
+        this.corriendo = false;
+        this.animador.reiniciar(Animacion.Estado.QUIETO, SpriteRegistry.Orientacion.DERECHA);
     }
 
     // --- Bloque 6: Getters y Setters ---
     //
-    // Encapsulamiento. Permiten a GamePanel LEER el estado del jugador.
+    // Encapsulamiento. Permiten a GameWorld (y a GamePanel) LEER el estado del jugador.
     //
     public int getVidas() { return vidas; }
     public boolean isInvencible() { return invencible; }
     public boolean isAtacando() { return atacando; }
 
     /**
-     * Método público llamado por 'GamePanel' cuando pisamos a un enemigo.
+     * Método público llamado por 'GameWorld' cuando pisamos a un enemigo.
      */
     public void rebotar() {
         this.velocidadY = -10; // Causa un pequeño "rebote"
         this.enElSuelo = false;
-        Sound.playSound("/sounds/aplastado_01.wav", 1.0f);
+        mundo.sonido(SoundBank.Efecto.APLASTADO, 1.0f);
     }
 
 
     /**
      * MÉTODO ABSTRACTO IMPLEMENTADO (De GameObject)
-     * Es el "artista" del jugador. Se llama ~60 veces por segundo.
+     * Es el "artista" del jugador. Se llama una vez por tick (en el Game Loop):
+     * no dibuja, anota en la instantánea qué hay que dibujar.
      */
     @Override
-    public void dibujar(Graphics2D g) {
-        BufferedImage image = null;
-
+    public void describir(Instantanea inst) {
         // --- 1. Selección de Sprite ---
-        // Decide qué imagen exacta mostrar basado en el estado
-        if (atacando) {
-            image = (lastDirection.equals("left")) ? attackLeftAnimation[spriteNum] : attackRightAnimation[spriteNum];
-        } else {
-            switch (direction) {
-                case "right": image = runRightAnimation[spriteNum]; break;
-                case "left": image = runLeftAnimation[spriteNum]; break;
-                case "stand":
-                    // Si está quieto, usa el frame 0 de la última dirección
-                    if (lastDirection.equals("left")) image = runLeftAnimation[0];
-                    else image = runRightAnimation[0];
-                    break;
-            }
-        }
+        // El animador ya sabe el estado (quieto = frame 0 de correr) y hacia dónde mira
+        int frame = animador.frameActual();
 
         // --- 2. Efecto de Invencibilidad ---
-        // Si es invencible, lo dibuja semitransparente (parpadeo)
-        if (invencible) {
-            if (contadorInvencible % 10 < 5) { // Alterna la opacidad
-                g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.5f));
-            } else {
-                g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
-            }
-        }
-
-        // --- 3. Dibujado ---
-        if (image != null) {
-            // Dibuja el sprite seleccionado en la posición (x, y)
-            // escalado al 'tileSize' (80x80)
-            g.drawImage(image, x, y, gamePanel.tileSize, gamePanel.tileSize, null);
-        } else {
-            // Si las imágenes fallaron, dibuja un cuadrado blanco
-            g.setColor(java.awt.Color.WHITE);
-            g.fillRect(x, y, gamePanel.tileSize, gamePanel.tileSize);
+        // Si es invencible, se dibuja semitransparente (parpadeo)
+        float opacidad = 1.0f;
+        if (invencible && contadorInvencible % 10 < 5) { // Alterna la opacidad
+            opacidad = 0.5f;
         }
 
-        // --- 4. Reset de Opacidad ---
-        // Resetea la opacidad a 100% para que el HUD no sea transparente
-        g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
+        // --- 3. Sprite ---
+        // Se interpola entre la posición anterior y la actual al dibujar.
+        // Si las imágenes fallaron, se dibuja un cuadrado blanco.
+        inst.sprite(frame, xAnterior, yAnterior, x, y, opacidad, Color.WHITE);
 
-        // --- 5. Depuración (Debug) ---
-        // Dibuja los hitboxes para afinarlos.
-        // Se pueden comentar cuando el juego esté terminado.
-        g.setColor(Color.GREEN);
-        g.drawRect(hitbox.x, hitbox.y, hitbox.width, hitbox.height);
+        // --- 4. Depuración (Debug) - visible con el perfilador (F3) ---
+        // Los hitboxes, para afinarlos (relativos a la posición del sprite,
+        // así se desplazan igual que él y no "tiemblan").
+        inst.caja(hitbox.x - x, hitbox.y - y, hitbox.width, hitbox.height, Color.GREEN);
 
         if(atacando) {
-            g.setColor(Color.YELLOW);
-            g.drawRect(hitboxAtaque.x, hitboxAtaque.y, hitboxAtaque.width, hitboxAtaque.height);
+            inst.caja(hitboxAtaque.x - x, hitboxAtaque.y - y, hitboxAtaque.width, hitboxAtaque.height, Color.YELLOW);
         }
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 import javax.swing.JFrame; // Importa la clase para crear la ventana
 import javax.swing.SwingUtilities; // Importa utilidades para la interfaz gráfica (GUI)
+import javax.imageio.ImageIO; // Para configurar la lectura de imágenes
 
 /**
  * Clase principal que inicia el juego.
@@ -13,6 +14,11 @@ public class Main {
      */
     public static void main(String[] args) {
 
+        // Configuración global, una sola vez y antes de cargar nada: sin esto,
+        // ImageIO copia cada PNG a un archivo temporal antes de decodificarlo
+        // (los sprites se leen de recursos en memoria, el disco no aporta nada).
+        ImageIO.setUseCache(false);
+
         /* Bloque 1: El Hilo de la Interfaz Gráfica (EDT)
         //Propósito: Usamos SwingUtilities.invokeLater() para asegurarnos de que todo
         //el código relacionado con la interfaz gráfica (crear la ventana,
@@ -42,6 +48,8 @@ public class Main {
             Propósito: Crear una instancia de nuestro GamePanel. Aquí es donde
             aplicamos el principio de Composición: la ventana 'Main' NO ES un juego,
             sino que 'TIENE UN' GamePanel.
+            El constructor es rápido: las imágenes y la música se cargan en
+            otro hilo, así la ventana aparece enseguida con la barra de carga.
             */
 
             GamePanel gamePanel = new GamePanel();
@@ -68,9 +76,10 @@ public class Main {
             /* --- Bloque 5: Inicio del Game Loop ---
             Propósito: Ceder el control al motor de juego.
             El trabajo de 'Main' (crear la ventana) ha terminado.
-            Ahora le decimos al gamePanel que inicie su propio hilo (Thread),
-            lo que pondrá en marcha el método run() y comenzará el Game Loop
-            (actualizar() y repaint() 60 veces por segundo).
+            Ahora le decimos al gamePanel que inicie sus propios hilos (Thread):
+            el Game Loop, que simula con actualizar() 60 veces por segundo, y
+            el hilo "Render", que dibuja aparte con renderizar() (hasta 144
+            frames por segundo).
             */
             gamePanel.startGameThread();
         });
@@ -0,0 +1,295 @@
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * CLASE DE UTILIDAD - Metricas (Contadores del Motor, Vistos desde Afuera)
+ *
+ * Propósito: Poder mirar una partida larga (o una prueba de horas) desde otro
+ * proceso, sin perfilador: con JConsole / VisualVM (JMX, "finalproyecto:type=Metricas")
+ * o leyendo un archivo que se escribe cada tantos segundos.
+ *
+ * Tres clases de métrica, todas con nombre:
+ * - 'Contador': solo sube (ej. ticks descartados). Un 'LongAdder'.
+ * - 'Histograma': duraciones en cubetas fijas (ej. cuánto tarda un tick);
+ *   de ahí salen la media, p50, p99 y máximo aproximados.
+ * - Medidor: un valor que se LEE al consultarlo (ej. enemigos vivos), con un
+ *   'LongSupplier'. No le cuesta nada al Game Loop.
+ *
+ * Reglas del camino caliente: el Game Loop y el hilo que dibuja solo llaman a
+ * 'incrementar()', 'sumar()' y 'registrar()': sin locks y sin crear objetos
+ * ('LongAdder' y 'LongAccumulator' son atómicos sin bloqueo). Todo lo que crea
+ * objetos (nombres, mapas, texto) pasa al registrar las métricas al empezar,
+ * o en el hilo de JMX / del volcado.
+ *
+ * Las métricas se registran TODAS antes de 'registrarJmx()' / 'iniciarVolcado()'
+ * (después los mapas solo se leen).
+ */
+public class Metricas {
+
+    // --- Bloque 1: Tipos de Métrica ---
+
+    /**
+     * Un número que solo sube, sin locks (varios hilos a la vez).
+     */
+    public static final class Contador {
+        private final LongAdder valor = new LongAdder();
+
+        public void incrementar() { valor.increment(); }
+        public void sumar(long cantidad) { valor.add(cantidad); }
+        public long getValor() { return valor.sum(); }
+    }
+
+    /**
+     * Duraciones repartidas en cubetas fijas (límites en microsegundos).
+     * Los percentiles son el límite superior de la cubeta donde caen.
+     */
+    public static final class Histograma {
+        // Hasta 0.05 ms, 0.1 ms, ... 66.7 ms (4 frames de 60 Hz), y "más"
+        static final long[] LIMITES_MICROS = {
+                50, 100, 250, 500, 1_000, 2_000, 4_000, 8_000, 16_667, 33_333, 66_667, Long.MAX_VALUE };
+
+        private final LongAdder[] cubetas = new LongAdder[LIMITES_MICROS.length];
+        private final LongAdder sumaNanos = new LongAdder();
+        private final LongAccumulator maximoNanos = new LongAccumulator(Math::max, 0);
+
+        Histograma() {
+            for (int i = 0; i < cubetas.length; i++) cubetas[i] = new LongAdder();
+        }
+
+        /**
+         * Anota una duración (en nanosegundos).
+         */
+        public void registrar(long nanos) {
+            long micros = nanos / 1_000;
+            int i = 0;
+            while (micros > LIMITES_MICROS[i]) i++; // La última cubeta no tiene límite
+            cubetas[i].increment();
+            sumaNanos.add(nanos);
+            maximoNanos.accumulate(nanos);
+        }
+
+        public long getCantidad() {
+            long total = 0;
+            for (LongAdder c : cubetas) total += c.sum();
+            return total;
+        }
+
+        public double getMediaMicros() {
+            long cantidad = getCantidad();
+            return (cantidad == 0) ? 0 : sumaNanos.sum() / 1_000.0 / cantidad;
+        }
+
+        public long getMaximoMicros() { return maximoNanos.get() / 1_000; }
+
+        /**
+         * @param fraccion Ej. 0.99 para el p99.
+         * @return El límite de la cubeta del percentil (el máximo si cae en la última).
+         */
+        public long getPercentilMicros(double fraccion) {
+            long cantidad = getCantidad();
+            if (cantidad == 0) return 0;
+            long objetivo = (long) Math.ceil(cantidad * fraccion);
+            long acumulado = 0;
+            for (int i = 0; i < cubetas.length; i++) {
+                acumulado += cubetas[i].sum();
+                if (acumulado >= objetivo) {
+                    return (i == cubetas.length - 1) ? getMaximoMicros() : LIMITES_MICROS[i];
+                }
+            }
+            return getMaximoMicros();
+        }
+    }
+
+    // --- Bloque 2: Registro ---
+    private final Map<String, Contador> contadores = new LinkedHashMap<>();
+    private final Map<String, Histograma> histogramas = new LinkedHashMap<>();
+    private final Map<String, LongSupplier> medidores = new LinkedHashMap<>();
+    private final Map<String, DoubleSupplier> calculados = new LinkedHashMap<>();
+
+    public Contador contador(String nombre) {
+        return contadores.computeIfAbsent(nombre, n -> new Contador());
+    }
+
+    public Histograma histograma(String nombre) {
+        return histogramas.computeIfAbsent(nombre, n -> new Histograma());
+    }
+
+    public void medidor(String nombre, LongSupplier lectura) {
+        medidores.put(nombre, lectura);
+    }
+
+    /**
+     * Como un medidor, pero con decimales (ej. puntos por minuto).
+     */
+    public void calculado(String nombre, DoubleSupplier calculo) {
+        calculados.put(nombre, calculo);
+    }
+
+    /**
+     * @return Todos los valores en este momento, en orden de registro. Cada
+     *         histograma aporta 'nombre.cantidad', '.mediaMicros', '.p50Micros',
+     *         '.p99Micros' y '.maxMicros'. Crea objetos: no es para el Game Loop.
+     */
+    public Map<String, Number> valores() {
+        Map<String, Number> valores = new LinkedHashMap<>();
+        contadores.forEach((nombre, c) -> valores.put(nombre, c.getValor()));
+        histogramas.forEach((nombre, h) -> {
+            valores.put(nombre + ".cantidad", h.getCantidad());
+            valores.put(nombre + ".mediaMicros", h.getMediaMicros());
+            valores.put(nombre + ".p50Micros", h.getPercentilMicros(0.50));
+            valores.put(nombre + ".p99Micros", h.getPercentilMicros(0.99));
+            valores.put(nombre + ".maxMicros", h.getMaximoMicros());
+        });
+        medidores.forEach((nombre, m) -> valores.put(nombre, m.getAsLong()));
+        calculados.forEach((nombre, c) -> valores.put(nombre, c.getAsDouble()));
+        return valores;
+    }
+
+    // --- Bloque 3: JMX ---
+
+    /**
+     * Publica las métricas como un MBean de solo lectura (un atributo por valor).
+     * @param nombre Ej. "finalproyecto:type=Metricas".
+     */
+    public void registrarJmx(String nombre) {
+        try {
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objeto = new ObjectName(nombre);
+            if (servidor.isRegistered(objeto)) servidor.unregisterMBean(objeto);
+            servidor.registerMBean(new Bean(), objeto);
+        } catch (JMException e) {
+            System.err.println("Error al publicar las métricas por JMX: " + nombre);
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * El MBean: sus atributos son las claves de 'valores()'.
+     */
+    private class Bean implements DynamicMBean {
+        @Override
+        public Object getAttribute(String atributo) throws AttributeNotFoundException {
+            Number valor = valores().get(atributo);
+            if (valor == null) throw new AttributeNotFoundException(atributo);
+            return valor;
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] atributos) {
+            Map<String, Number> valores = valores();
+            AttributeList lista = new AttributeList();
+            for (String a : atributos) {
+                if (valores.containsKey(a)) lista.add(new Attribute(a, valores.get(a)));
+            }
+            return lista;
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            Map<String, Number> valores = valores();
+            MBeanAttributeInfo[] info = new MBeanAttributeInfo[valores.size()];
+            int i = 0;
+            for (Map.Entry<String, Number> v : valores.entrySet()) {
+                info[i++] = new MBeanAttributeInfo(v.getKey(), v.getValue().getClass().getName(),
+                        v.getKey(), true, false, false);
+            }
+            return new MBeanInfo(Metricas.class.getName(), "Métricas del motor del juego",
+                    info, null, null, null);
+        }
+
+        @Override
+        public void setAttribute(Attribute atributo) {
+            throw new UnsupportedOperationException("Las métricas son de solo lectura");
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList atributos) {
+            return new AttributeList(); // Ninguno se puede cambiar
+        }
+
+        @Override
+        public Object invoke(String accion, Object[] parametros, String[] firma) {
+            throw new UnsupportedOperationException("Las métricas no tienen operaciones");
+        }
+    }
+
+    // --- Bloque 4: Volcado Periódico a Archivo ---
+    private ScheduledExecutorService volcado;
+
+    /**
+     * Agrega una línea con todos los valores a 'archivo' cada 'periodoSegundos'
+     * (en un hilo propio, de baja prioridad). Si el archivo termina en ".json"
+     * cada línea es un objeto JSON ("JSON Lines"); si no, es CSV con una fila
+     * de encabezado.
+     */
+    public synchronized void iniciarVolcado(Path archivo, long periodoSegundos) {
+        if (volcado != null) return;
+        boolean json = archivo.getFileName().toString().endsWith(".json");
+        volcado = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "VolcadoMetricas");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+        long periodo = Math.max(1, periodoSegundos);
+        volcado.scheduleAtFixedRate(() -> volcar(archivo, json), periodo, periodo, TimeUnit.SECONDS);
+        System.out.println("Métricas: volcado cada " + periodo + " s en " + archivo);
+    }
+
+    private boolean encabezadoEscrito = false; // Solo lo usa el hilo del volcado
+
+    private void volcar(Path archivo, boolean json) {
+        Map<String, Number> valores = valores();
+        StringBuilder linea = new StringBuilder();
+        long ahora = System.currentTimeMillis();
+        try {
+            if (json) {
+                linea.append("{\"tiempoMs\":").append(ahora);
+                valores.forEach((nombre, valor) ->
+                        linea.append(",\"").append(nombre).append("\":").append(valor));
+                linea.append("}\n");
+            } else {
+                if (!encabezadoEscrito && (!Files.exists(archivo) || Files.size(archivo) == 0)) {
+                    linea.append("tiempoMs");
+                    valores.keySet().forEach(nombre -> linea.append(',').append(nombre));
+                    linea.append('\n');
+                }
+                linea.append(ahora);
+                valores.values().forEach(valor -> linea.append(',').append(valor));
+                linea.append('\n');
+            }
+            encabezadoEscrito = true;
+            try (Writer w = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                w.write(linea.toString());
+            }
+        } catch (IOException e) {
+            // Se reintenta en el próximo período; un error no debe matar el hilo
+            System.err.println("Error al volcar las métricas en " + archivo);
+            e.printStackTrace();
+        }
+    }
+}
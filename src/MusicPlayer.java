@@ -0,0 +1,333 @@
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.SourceDataLine;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * CLASE DE UTILIDAD - MusicPlayer (Reproductor de Música en Streaming)
+ *
+ * Propósito: Reproducir la música de fondo leyendo el archivo de a pedacitos,
+ * en vez de cargarlo entero en un 'Clip'. Un hilo propio lee un bloque chico,
+ * lo escribe en UNA línea de audio (SourceDataLine) abierta al principio y
+ * repite. La memoria usada es siempre la misma, dure lo que dure la pista.
+ *
+ * Además:
+ * - Bucle sin cortes: al llegar al final, sigue desde el principio en el mismo bloque.
+ * - Fundido cruzado ("crossfade") entre dos pistas (ej. partida -> Game Over).
+ * - Pausa y reanudación sin volver a abrir nada.
+ *
+ * Los controles ('reproducir', 'cruzar', 'detener') se llaman desde el Game
+ * Loop, así que NO abren archivos ni esperan al hilo de la música: solo anotan
+ * el pedido y lo despiertan. Ese hilo es el único dueño de las pistas: las
+ * abre, las lee y las cierra SIN tener tomado el lock que toman los controles.
+ */
+public class MusicPlayer {
+
+    // --- Bloque 1: Configuración ---
+    static final AudioFormat FORMATO = SoundBank.FORMATO; // 44.1 kHz, 16 bits, estéreo
+    static final int FRAMES_POR_BLOQUE = 1024;            // ~23 ms por escritura
+    static final int BYTES_POR_BLOQUE = FRAMES_POR_BLOQUE * FORMATO.getFrameSize();
+
+    // --- Bloque 2: Una Pista que se lee de a bloques ---
+    private static class Pista {
+        final String ruta;
+        final boolean enBucle;
+        AudioInputStream stream;
+        boolean terminada = false;
+
+        Pista(String ruta, boolean enBucle) {
+            this.ruta = ruta;
+            this.enBucle = enBucle;
+            abrir();
+        }
+
+        /**
+         * Abre (o vuelve a abrir, al dar la vuelta) el archivo, convertido al FORMATO de la línea.
+         */
+        void abrir() {
+            cerrar();
+            try {
+                InputStream in = MusicPlayer.class.getResourceAsStream(ruta);
+                if (in == null) throw new IOException("No existe el recurso");
+                AudioInputStream original = AudioSystem.getAudioInputStream(new BufferedInputStream(in));
+                stream = original.getFormat().matches(FORMATO)
+                        ? original : AudioSystem.getAudioInputStream(FORMATO, original);
+            } catch (Exception e) {
+                System.err.println("Error al abrir la música: " + ruta);
+                e.printStackTrace();
+                terminada = true;
+            }
+        }
+
+        /**
+         * Llena 'destino' con el próximo bloque. Si la pista termina y es en
+         * bucle, sigue desde el principio sin dejar silencio en el medio.
+         * Lo que no se pudo llenar queda en cero (silencio).
+         */
+        void leer(byte[] destino) {
+            int llenos = 0;
+            while (llenos < destino.length && !terminada) {
+                int n;
+                try {
+                    n = stream.read(destino, llenos, destino.length - llenos);
+                } catch (IOException e) {
+                    n = -1;
+                }
+                if (n > 0) {
+                    llenos += n;
+                } else if (enBucle) {
+                    abrir(); // Vuelta al principio, en el mismo bloque
+                } else {
+                    terminada = true;
+                }
+            }
+            for (int i = llenos; i < destino.length; i++) destino[i] = 0;
+        }
+
+        void cerrar() {
+            if (stream == null) return;
+            try {
+                stream.close();
+            } catch (IOException ignorada) {
+                // Nada que hacer: la pista ya no se usa
+            }
+            stream = null;
+        }
+    }
+
+    // --- Bloque 3: Pedidos (de los controles al hilo de la música) ---
+    static final int REPRODUCIR = 0, CRUZAR = 1, DETENER = 2;
+
+    /** Lo último que se pidió (si llegan dos antes de atenderlos, vale el último). */
+    private static final class Pedido {
+        final int tipo;
+        final String ruta;
+        final boolean enBucle;
+        final int milisegundos; // Duración del fundido (solo CRUZAR)
+
+        Pedido(int tipo, String ruta, boolean enBucle, int milisegundos) {
+            this.tipo = tipo;
+            this.ruta = ruta;
+            this.enBucle = enBucle;
+            this.milisegundos = milisegundos;
+        }
+    }
+
+    // --- Bloque 4: Estado ---
+    // Con el lock de 'this' (controles y hilo de la música, siempre por muy poco)
+    private SourceDataLine linea;    // 'null' si no hay salida de audio
+    private Pedido pedido;           // Pendiente de atender ('null' = nada nuevo)
+    private boolean pausado = false;
+    private boolean sonando = false; // ¿Hay una pista abierta? (la escribe el hilo de la música)
+    private volatile float volumen = 1f;
+
+    // Solo del hilo de la música
+    private Pista actual;            // Lo que suena ahora
+    private Pista siguiente;         // Lo que entra durante un fundido cruzado
+    private int framesFundido = 0;   // Duración total del fundido en curso
+    private int framesFundidoHechos = 0;
+
+    // Buffers del hilo (reservados una sola vez)
+    private final byte[] bloqueA = new byte[BYTES_POR_BLOQUE];
+    private final byte[] bloqueB = new byte[BYTES_POR_BLOQUE];
+
+    /**
+     * Abre la línea de audio y arranca el hilo de la música.
+     * Si no hay dispositivo de audio, el reproductor queda mudo (sin errores).
+     */
+    public synchronized void iniciar() {
+        if (linea != null) return;
+        try {
+            linea = AudioSystem.getSourceDataLine(FORMATO);
+            linea.open(FORMATO, BYTES_POR_BLOQUE * 4);
+            linea.start();
+        } catch (Exception e) {
+            System.err.println("No hay salida de audio disponible; la música no sonará.");
+            e.printStackTrace();
+            linea = null;
+            return;
+        }
+
+        Thread hilo = new Thread(this::bucle, "MusicPlayer");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    // --- Bloque 5: Controles (desde cualquier hilo; no abren ni leen nada) ---
+
+    /**
+     * Cambia de pista de inmediato (sin fundido).
+     */
+    public synchronized void reproducir(String ruta, boolean enBucle) {
+        pedir(new Pedido(REPRODUCIR, ruta, enBucle, 0));
+    }
+
+    /**
+     * Hace un fundido cruzado: la pista actual baja mientras la nueva sube.
+     * Si no suena nada, la nueva simplemente empieza.
+     */
+    public synchronized void cruzar(String ruta, boolean enBucle, int milisegundos) {
+        pedir(new Pedido(CRUZAR, ruta, enBucle, milisegundos));
+    }
+
+    /**
+     * Pausa la música. La línea queda abierta (y con lo que tenía en su buffer).
+     */
+    public synchronized void pausar() {
+        if (linea == null || pausado) return;
+        pausado = true;
+        linea.stop();
+    }
+
+    /**
+     * Sigue desde donde se pausó.
+     */
+    public synchronized void reanudar() {
+        if (linea == null || !pausado) return;
+        pausado = false;
+        linea.start();
+        notifyAll();
+    }
+
+    /**
+     * Detiene la música y descarta lo que quedaba en la línea.
+     */
+    public synchronized void detener() {
+        if (linea == null) return;
+        pedido = new Pedido(DETENER, null, false, 0);
+        notifyAll();
+    }
+
+    /**
+     * @param volumen Volumen lineal (0.0 = silencio, 1.0 = original)
+     */
+    public void setVolumen(float volumen) {
+        this.volumen = volumen;
+    }
+
+    /**
+     * Anota un pedido para el hilo de la música (con el lock tomado).
+     */
+    private void pedir(Pedido nuevo) {
+        if (linea == null) return;
+        pedido = nuevo;
+        pausado = false;
+        notifyAll();
+    }
+
+    // --- Bloque 6: El Hilo de la Música ---
+
+    /**
+     * Atiende los pedidos, prepara un bloque (leyendo y mezclando las pistas)
+     * y lo escribe en la línea, para siempre. Mientras no haya nada que tocar
+     * o esté en pausa, duerme. 'write' bloquea hasta que haya lugar: eso marca
+     * el ritmo. El lock solo se toma para mirar los pedidos y la pausa: abrir
+     * y leer las pistas ocurre afuera, así los controles nunca esperan al disco.
+     */
+    private void bucle() {
+        while (true) {
+            Pedido p;
+            synchronized (this) {
+                while (pedido == null && (pausado || !sonando)) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                p = pedido;
+                pedido = null;
+            }
+
+            if (p != null) atender(p);
+            if (actual != null && !estaPausado()) {
+                prepararBloque();
+                linea.write(bloqueA, 0, bloqueA.length);
+            }
+            boolean hayPista = (actual != null);
+            synchronized (this) {
+                sonando = hayPista;
+            }
+        }
+    }
+
+    /**
+     * Aplica un pedido: abre la pista nueva (aquí, en el hilo de la música).
+     */
+    private void atender(Pedido p) {
+        if (p.tipo == DETENER) {
+            cerrarPistas();
+            linea.flush();
+        } else if (p.tipo == REPRODUCIR || actual == null) {
+            cerrarPistas();
+            actual = new Pista(p.ruta, p.enBucle);
+        } else { // CRUZAR con algo sonando
+            if (siguiente != null) { // Un fundido a medias: se completa de golpe
+                actual.cerrar();
+                actual = siguiente;
+            }
+            siguiente = new Pista(p.ruta, p.enBucle);
+            framesFundido = Math.max(1, (int) (FORMATO.getFrameRate() * p.milisegundos / 1000));
+            framesFundidoHechos = 0;
+        }
+    }
+
+    private synchronized boolean estaPausado() {
+        return pausado;
+    }
+
+    private void cerrarPistas() {
+        if (actual != null) actual.cerrar();
+        if (siguiente != null) siguiente.cerrar();
+        actual = null;
+        siguiente = null;
+    }
+
+    /**
+     * Deja en 'bloqueA' el próximo bloque a escribir (con fundido si hay uno en curso).
+     */
+    private void prepararBloque() {
+        actual.leer(bloqueA);
+        float vol = volumen;
+
+        if (siguiente != null) {
+            siguiente.leer(bloqueB);
+            for (int f = 0; f < FRAMES_POR_BLOQUE; f++) {
+                float t = Math.min(1f, (framesFundidoHechos + f) / (float) framesFundido);
+                for (int c = 0; c < FORMATO.getChannels(); c++) {
+                    int i = (f * FORMATO.getChannels() + c) * 2;
+                    float mezcla = muestra(bloqueA, i) * (1 - t) + muestra(bloqueB, i) * t;
+                    escribirMuestra(bloqueA, i, mezcla * vol);
+                }
+            }
+            framesFundidoHechos += FRAMES_POR_BLOQUE;
+            if (framesFundidoHechos >= framesFundido) { // Terminó el fundido
+                actual.cerrar();
+                actual = siguiente;
+                siguiente = null;
+            }
+        } else if (vol != 1f) {
+            for (int i = 0; i < bloqueA.length; i += 2) {
+                escribirMuestra(bloqueA, i, muestra(bloqueA, i) * vol);
+            }
+        }
+
+        if (actual.terminada && siguiente == null) { // Pista sin bucle que terminó
+            actual.cerrar();
+            actual = null;
+        }
+    }
+
+    private static int muestra(byte[] b, int i) {
+        return (short) ((b[i] & 0xFF) | (b[i + 1] << 8));
+    }
+
+    private static void escribirMuestra(byte[] b, int i, float valor) {
+        int m = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, Math.round(valor)));
+        b[i] = (byte) m;
+        b[i + 1] = (byte) (m >> 8);
+    }
+}
@@ -0,0 +1,233 @@
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * CLASE DE UTILIDAD - Perfilador (¿En qué se Van los 16.6 ms de un Frame?)
+ *
+ * Propósito: Medir con 'System.nanoTime()' cuánto tarda cada fase del juego
+ * y mostrarlo en pantalla (se activa con F3, o con -Dperfil=true):
+ * - En el Game Loop: entrada, jugador, aparición de enemigos, enemigos,
+ *   colisiones, el tick completo y los bytes que el tick pidió al heap.
+ * - En el hilo que dibuja: el dibujado, la presentación ('show()' + 'sync()')
+ *   y el tiempo entre un frame y el siguiente (con su gráfico).
+ * De cada una se muestran p50, p99 y máximo de las últimas HISTORIA muestras.
+ *
+ * Para no distorsionar lo que mide:
+ * - Cada muestra se guarda en un "anillo" (array circular) creado de antemano:
+ *   anotar es escribir un 'long', sin crear objetos.
+ * - Cada anillo tiene UN solo hilo que escribe. El hilo que dibuja lee los
+ *   del Game Loop sin sincronizar: puede ver una muestra "a medias" de
+ *   escribir, lo que para un gráfico de depuración da igual.
+ * - Los percentiles se calculan solo al pintar el panel (4 veces por segundo).
+ * - Apagado no cuesta nada: el mundo solo lo llama si tiene un perfilador
+ *   puesto, y 'GamePanel' se lo quita al desactivarlo.
+ */
+public class Perfilador {
+
+    // --- Bloque 1: Fases ---
+    public static final int ENTRADA = 0, JUGADOR = 1, APARICION = 2, ENEMIGOS = 3, COLISIONES = 4;
+    public static final int TICK = 5;          // 'GamePanel.actualizar()' completo
+    public static final int DIBUJO = 6, PRESENTACION = 7, FRAME = 8; // Hilo que dibuja
+    static final int FASES = 9;
+    static final String[] NOMBRES = {
+            "Entrada", "Jugador", "Aparición", "Enemigos", "Colisiones",
+            "Tick", "Dibujo", "Presentación", "Frame" };
+
+    static final int HISTORIA = 240; // Muestras por fase (4 s a 60 ticks por segundo)
+
+    // --- Bloque 2: Anillos de Muestras ---
+    private final long[][] muestras = new long[FASES][HISTORIA]; // Nanosegundos
+    private final int[] escritas = new int[FASES];               // Total anotadas por fase
+
+    private final long[] bytesTick = new long[HISTORIA];
+    private int ticksConBytes = 0;
+    private long bytesAlEmpezar;
+    private long inicioTick;
+    private long ultimoFrame = 0;
+
+    // Lo que había al final del último tick (lo escribe el Game Loop)
+    private volatile int enemigos = 0;
+    private volatile long tick = 0;
+
+    // Bytes pedidos por el hilo actual (extensión de HotSpot; 'null' si no hay)
+    private static final com.sun.management.ThreadMXBean MEMORIA = memoriaPorHilo();
+
+    // --- Bloque 3: Anotar (Game Loop y hilo que dibuja, cada uno sus fases) ---
+
+    /**
+     * Anota la fase que empezó en 'desde' y terminó ahora.
+     * @return Ahora (el comienzo de la fase siguiente).
+     */
+    public long fase(int fase, long desde) {
+        long ahora = System.nanoTime();
+        anotar(fase, ahora - desde);
+        return ahora;
+    }
+
+    /**
+     * Anota 'nanos' como una muestra de 'fase'.
+     */
+    public void anotar(int fase, long nanos) {
+        int i = escritas[fase];
+        muestras[fase][i % HISTORIA] = nanos;
+        escritas[fase] = i + 1;
+    }
+
+    /** Al empezar un tick (Game Loop). */
+    public void inicioTick() {
+        if (MEMORIA != null) bytesAlEmpezar = MEMORIA.getCurrentThreadAllocatedBytes();
+        inicioTick = System.nanoTime();
+    }
+
+    /** Al terminar un tick (Game Loop). */
+    public void finTick(GameWorld mundo) {
+        anotar(TICK, System.nanoTime() - inicioTick);
+        if (MEMORIA != null) {
+            bytesTick[ticksConBytes % HISTORIA] = MEMORIA.getCurrentThreadAllocatedBytes() - bytesAlEmpezar;
+            ticksConBytes++;
+        }
+        enemigos = mundo.getCantidadEnemigos();
+        tick = mundo.getTick();
+    }
+
+    /**
+     * Al terminar de presentar un frame (hilo que dibuja): anota el tiempo
+     * desde el frame anterior.
+     */
+    public void finFrame() {
+        long ahora = System.nanoTime();
+        if (ultimoFrame != 0) anotar(FRAME, ahora - ultimoFrame);
+        ultimoFrame = ahora;
+    }
+
+    /**
+     * Olvida el último frame (al volver a activarlo, la pausa no cuenta como un frame lento).
+     */
+    public void reanudar() {
+        ultimoFrame = 0;
+    }
+
+    // --- Bloque 4: Estadísticas (solo el hilo que dibuja) ---
+    private final long[] ordenadas = new long[HISTORIA];
+    static final int P50 = 0, P99 = 1, MAXIMO = 2;
+
+    /**
+     * Escribe en 'salida' el p50, p99 y máximo de las muestras de un anillo.
+     * @return Cuántas muestras había (0 = ninguna; 'salida' queda en 0).
+     */
+    private int percentiles(long[] anillo, int total, long[] salida) {
+        int n = Math.min(total, HISTORIA);
+        if (n == 0) {
+            Arrays.fill(salida, 0);
+            return 0;
+        }
+        System.arraycopy(anillo, 0, ordenadas, 0, n);
+        Arrays.sort(ordenadas, 0, n);
+        salida[P50] = ordenadas[(n - 1) / 2];
+        salida[P99] = ordenadas[Math.max(0, (int) Math.ceil(n * 0.99) - 1)];
+        salida[MAXIMO] = ordenadas[n - 1];
+        return n;
+    }
+
+    // --- Bloque 5: Panel en Pantalla (solo el hilo que dibuja) ---
+    static final int ANCHO_PANEL = 340;
+    static final int ALTO_TEXTO = 16 * (FASES + 4) + 4;
+    static final int ALTO_GRAFICO = 80;
+    static final long REPINTAR_NANOS = 250_000_000L; // El texto se repinta 4 veces por segundo
+    static final long ESCALA_GRAFICO_NANOS = 2 * 16_666_667L; // Alto del gráfico = 2 frames de 60 Hz
+    static final Color FONDO_PANEL = new Color(0, 0, 0, 170);
+    static final Font FUENTE = new Font(Font.MONOSPACED, Font.PLAIN, 13);
+
+    private final long[] estadisticas = new long[3];
+    private int sprites = 0; // Sprites de la última instantánea dibujada
+    private final CacheCapas.Capa capaTexto = new CacheCapas.Capa(0, 0, ANCHO_PANEL, ALTO_TEXTO, this::pintarTexto);
+
+    /**
+     * Dibuja el panel con su esquina superior derecha en ('derecha', 'arriba').
+     * @param sprites Cuántos sprites tiene la instantánea que se está dibujando.
+     */
+    public void dibujar(Graphics2D g, int derecha, int arriba, int sprites) {
+        this.sprites = sprites;
+        int izquierda = derecha - ANCHO_PANEL;
+
+        g.translate(izquierda, arriba);
+        capaTexto.dibujar(g, System.nanoTime() / REPINTAR_NANOS);
+        dibujarGrafico(g, ALTO_TEXTO);
+        g.translate(-izquierda, -arriba);
+    }
+
+    /**
+     * Barras con el tiempo entre frames (la más nueva a la derecha), con una
+     * línea en 16.6 ms: lo que la pasa es un frame "perdido" a 60 Hz.
+     */
+    private void dibujarGrafico(Graphics2D g, int arriba) {
+        g.setColor(FONDO_PANEL);
+        g.fillRect(0, arriba, ANCHO_PANEL, ALTO_GRAFICO);
+
+        int total = escritas[FRAME];
+        int n = Math.min(total, HISTORIA);
+        int izquierda = (ANCHO_PANEL - HISTORIA) / 2;
+        long[] anillo = muestras[FRAME];
+        for (int k = 0; k < n; k++) {
+            long nanos = anillo[(total - n + k) % HISTORIA];
+            int alto = (int) Math.min(ALTO_GRAFICO, nanos * ALTO_GRAFICO / ESCALA_GRAFICO_NANOS);
+            g.setColor(nanos > ESCALA_GRAFICO_NANOS / 2 ? Color.RED : Color.GREEN);
+            g.fillRect(izquierda + HISTORIA - n + k, arriba + ALTO_GRAFICO - alto, 1, alto);
+        }
+        g.setColor(Color.YELLOW);
+        g.drawLine(izquierda, arriba + ALTO_GRAFICO / 2, izquierda + HISTORIA, arriba + ALTO_GRAFICO / 2);
+    }
+
+    private void pintarTexto(Graphics2D g, long clave) {
+        g.setColor(FONDO_PANEL);
+        g.fillRect(0, 0, ANCHO_PANEL, ALTO_TEXTO);
+        g.setFont(FUENTE);
+        g.setColor(Color.WHITE);
+
+        int linea = 14;
+        g.drawString("PERFIL (F3)  tick " + tick, 8, linea);
+        linea += 16;
+        g.drawString(String.format("%-13s%8s%8s%8s", "ms", "p50", "p99", "máx"), 8, linea);
+        for (int f = 0; f < FASES; f++) {
+            linea += 16;
+            percentiles(muestras[f], escritas[f], estadisticas);
+            g.drawString(String.format("%-13s%8.3f%8.3f%8.3f", NOMBRES[f],
+                    estadisticas[P50] / 1e6, estadisticas[P99] / 1e6, estadisticas[MAXIMO] / 1e6), 8, linea);
+        }
+
+        linea += 16;
+        if (MEMORIA != null) {
+            percentiles(bytesTick, ticksConBytes, estadisticas);
+            g.drawString(String.format("Bytes/tick   %8d%8d%8d",
+                    estadisticas[P50], estadisticas[P99], estadisticas[MAXIMO]), 8, linea);
+        } else {
+            g.drawString("Bytes/tick   (no disponible)", 8, linea);
+        }
+        linea += 16;
+        g.drawString("Enemigos " + enemigos + "   Sprites " + sprites, 8, linea);
+    }
+
+    /**
+     * El 'ThreadMXBean' de HotSpot, que sabe cuántos bytes pidió cada hilo.
+     * @return 'null' si esta JVM no lo tiene o no lo permite.
+     */
+    private static com.sun.management.ThreadMXBean memoriaPorHilo() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean bean =
+                        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+                if (bean.isThreadAllocatedMemorySupported()) {
+                    bean.setThreadAllocatedMemoryEnabled(true);
+                    return bean;
+                }
+            }
+        } catch (UnsupportedOperationException | SecurityException | LinkageError e) {
+            System.err.println("El perfilador no puede medir la memoria por tick.");
+            e.printStackTrace();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,175 @@
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+
+/**
+ * HERRAMIENTA - PresupuestoMemoria (¿Cuántos Bytes Pide un Tick?)
+ *
+ * Propósito: Programa aparte (NO se ejecuta durante el juego) que comprueba
+ * que una partida "en régimen" no le pide memoria al heap. Cada byte que el
+ * Game Loop pide es basura que el GC tiene que limpiar después, y esas
+ * limpiezas son los "tirones" periódicos del juego.
+ *
+ * Juega una partida guionada (el 'Bot' de 'SimuladorHeadless' con semilla
+ * fija, muchos enemigos, y una partida nueva cada vez que pierde) haciendo
+ * lo mismo que el juego en cada tick:
+ * - Game Loop: 'paso()', describir el mundo en una 'Instantanea' y
+ *   publicarla, enviar los sonidos ('SoundBank.finDeTick()'), las métricas
+ *   y el evento de JFR.
+ * - Hilo que dibuja: tomar la última instantánea y dibujarla (con las hitboxes).
+ * Primero "calienta" (para que el JIT compile todo) y después mide, con el
+ * contador de bytes por hilo de HotSpot
+ * ('com.sun.management.ThreadMXBean.getThreadAllocatedBytes'), cuántos bytes
+ * pide cada parte en cada tick.
+ *
+ * Uso: java -Djava.awt.headless=true -cp <clases>:Resources PresupuestoMemoria [ticks] [enemigos] [bytesPorTick]
+ *      (por defecto: 20000 ticks de calentamiento + 20000 medidos, 30 enemigos,
+ *       presupuesto 1 byte por tick)
+ * Termina con código 1 si alguna parte pasa el presupuesto (promedio por tick).
+ * El presupuesto es un promedio para tolerar lo que pasa una sola vez (el JIT
+ * que recompila algo, un 'ArrayList' que crece al llegar a más enemigos que
+ * nunca): un objeto de 16 bytes creado en CADA tick ya lo pasa.
+ */
+public class PresupuestoMemoria {
+
+    static final long SEMILLA = 7;
+
+    // --- Bloque 1: El Escenario ---
+    // Los sprites del juego (si los recursos no están en el classpath, cada
+    // personaje se dibuja como su cuadrado de respaldo)
+    private final SpriteAtlas atlas = new SpriteAtlas(GameWorld.TILE_SIZE);
+    private final SpriteRegistry sprites = cargarSprites(atlas);
+    // Con sprites y con sonido (los efectos se piden al 'SoundBank' como en el juego)
+    private final GameWorld mundo = new GameWorld(SEMILLA, GameWorld.TILE_SIZE, GameWorld.ANCHO, sprites, true);
+    private final SimuladorHeadless.Bot bot = new SimuladorHeadless.Bot(SEMILLA);
+    private final BufferTriple<Instantanea> instantaneas =
+            new BufferTriple<>(new Instantanea(), new Instantanea(), new Instantanea());
+    private final Metricas.Histograma duracionTick = new Metricas().histograma("tick");
+    private final Graphics2D g;
+
+    private int partidas = 1;
+
+    PresupuestoMemoria(int enemigos) {
+        mundo.setMaxEnemigosEnPantalla(enemigos);
+        mundo.iniciar();
+        BufferedImage pantalla = new BufferedImage(GameWorld.ANCHO, 768, BufferedImage.TYPE_INT_RGB);
+        g = pantalla.createGraphics();
+    }
+
+    /**
+     * Carga todas las animaciones de todos los personajes (como 'GamePanel').
+     */
+    private static SpriteRegistry cargarSprites(SpriteAtlas atlas) {
+        SpriteRegistry sprites = new SpriteRegistry(atlas);
+        AssetLoader assets = new AssetLoader();
+        for (SpriteRegistry.Personaje p : SpriteRegistry.Personaje.values()) {
+            for (SpriteRegistry.Accion a : SpriteRegistry.Accion.values()) sprites.encolar(assets, p, a);
+        }
+        for (SpriteRegistry.Personaje p : SpriteRegistry.Personaje.values()) {
+            for (SpriteRegistry.Accion a : SpriteRegistry.Accion.values()) sprites.cargar(assets, p, a);
+        }
+        assets.cerrar();
+        return sprites;
+    }
+
+    /**
+     * Lo que hace el Game Loop en un tick (ver 'GamePanel.actualizar()' y 'run()').
+     */
+    void tickJuego() {
+        EventosJuego.Tick evento = EventosJuego.inicioTick();
+        long inicio = System.nanoTime();
+        mundo.guardarEstadoAnterior();
+        mundo.paso(bot);
+        if (mundo.isTerminado()) {
+            // Otra partida: el pool recupera a los enemigos, nada se crea de nuevo
+            mundo.reiniciar();
+            mundo.iniciar();
+            partidas++;
+        }
+        Instantanea inst = instantaneas.escritura();
+        mundo.describir(inst, inicio);
+        instantaneas.publicar();
+        SoundBank.global().finDeTick();
+        duracionTick.registrar(System.nanoTime() - inicio);
+        EventosJuego.tick(evento, mundo, "jugando");
+    }
+
+    /**
+     * Lo que hace el hilo que dibuja con la última instantánea.
+     */
+    void frame() {
+        Instantanea inst = instantaneas.lectura();
+        inst.dibujar(g, atlas, GameWorld.TILE_SIZE, 0.5);
+        inst.dibujarCajas(g, 0.5);
+    }
+
+    // --- Bloque 2: La Medición ---
+
+    /** Bytes pedidos por una parte del tick, tick por tick. */
+    static class Cuenta {
+        final String nombre;
+        long total = 0;
+        long maximo = 0;
+        int ticksConBytes = 0;
+
+        Cuenta(String nombre) { this.nombre = nombre; }
+
+        void anotar(long bytes) {
+            total += bytes;
+            maximo = Math.max(maximo, bytes);
+            if (bytes > 0) ticksConBytes++;
+        }
+
+        double promedio(int ticks) { return (double) total / ticks; }
+    }
+
+    public static void main(String[] args) {
+        int ticks = (args.length > 0) ? Integer.parseInt(args[0]) : 20_000;
+        int enemigos = (args.length > 1) ? Integer.parseInt(args[1]) : 30;
+        long presupuesto = (args.length > 2) ? Long.parseLong(args[2]) : 1;
+
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            System.err.println("Esta JVM no sabe cuántos bytes pide cada hilo (hace falta HotSpot).");
+            System.exit(2);
+        }
+        com.sun.management.ThreadMXBean memoria = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        memoria.setThreadAllocatedMemoryEnabled(true);
+        long hilo = Thread.currentThread().getId();
+
+        PresupuestoMemoria escenario = new PresupuestoMemoria(enemigos);
+
+        // 1. Calentamiento: el JIT compila (y elimina las asignaciones que no escapan)
+        for (int i = 0; i < ticks; i++) {
+            escenario.tickJuego();
+            escenario.frame();
+        }
+
+        // 2. Medición
+        Cuenta juego = new Cuenta("Game Loop");
+        Cuenta dibujo = new Cuenta("Dibujo");
+        int partidasAntes = escenario.partidas;
+        for (int i = 0; i < ticks; i++) {
+            long antes = memoria.getThreadAllocatedBytes(hilo);
+            escenario.tickJuego();
+            long medio = memoria.getThreadAllocatedBytes(hilo);
+            escenario.frame();
+            long despues = memoria.getThreadAllocatedBytes(hilo);
+            juego.anotar(medio - antes);
+            dibujo.anotar(despues - medio);
+        }
+
+        // 3. Resultado
+        System.out.printf("%d ticks medidos (tras %d de calentamiento), %d enemigos máx., %d partida(s)%n",
+                ticks, ticks, enemigos, escenario.partidas - partidasAntes + 1);
+        boolean pasa = true;
+        for (Cuenta c : new Cuenta[] { juego, dibujo }) {
+            boolean ok = c.promedio(ticks) <= presupuesto;
+            pasa &= ok;
+            System.out.printf("%-10s %10d bytes, %8.1f por tick (máx. %d), %d ticks pidieron memoria  %s%n",
+                    c.nombre, c.total, c.promedio(ticks), c.maximo, c.ticksConBytes, ok ? "OK" : "EXCEDE");
+        }
+        System.out.println(pasa ? "Presupuesto de " + presupuesto + " bytes por tick: OK"
+                : "Presupuesto de " + presupuesto + " bytes por tick EXCEDIDO");
+        if (!pasa) System.exit(1);
+    }
+}
@@ -0,0 +1,272 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * CLASE DE UTILIDAD - Repeticion (Grabar y Volver a Jugar una Partida)
+ *
+ * Propósito: Una partida de 'GameWorld' queda determinada por su semilla y
+ * los botones de cada tick. Esta clase guarda exactamente eso (más un hash del
+ * estado del mundo cada 'hashCada' ticks) para poder volver a jugarla igual:
+ * - para reproducir un error de juego tick por tick,
+ * - como "benchmark" repetible (una partida real, simulada a toda velocidad),
+ * - para encontrar el primer tick en que dos versiones del código divergen.
+ *
+ * Formato del archivo (binario, big-endian, "varint" = entero de 7 bits por byte):
+ *   int    MAGIA ("FPRP")
+ *   byte   VERSION
+ *   long   semilla
+ *   varint hashCada
+ *   varint ticks
+ *   varint cantidad de tramos
+ *   tramos: byte (botones XOR botones del tramo anterior), varint largo
+ *   int    hash del estado, uno cada 'hashCada' ticks
+ *
+ * Los botones casi nunca cambian de un tick al siguiente, así que cada "tramo"
+ * (mismos botones durante N ticks) ocupa 2-3 bytes en vez de N.
+ *
+ * Uso (desde 'GamePanel'):
+ *   -Drepeticion.grabar=partida.rep      graba cada partida (se guarda al perder)
+ *   -Drepeticion.reproducir=partida.rep  juega la grabación en la ventana, a velocidad real
+ * Uso (sin ventana, a toda velocidad):
+ *   java -Djava.awt.headless=true Repeticion partida.rep [--tiempo-real]
+ */
+public class Repeticion {
+
+    // --- Bloque 1: Formato ---
+    static final int MAGIA = 0x46505250; // "FPRP"
+    static final int VERSION = 1;
+
+    // --- Bloque 2: Contenido ---
+    private final long semilla;
+    private final int hashCada;
+    private int ticks = 0;
+
+    // Tramos de botones iguales (RLE)
+    private byte[] botonesTramo = new byte[64];
+    private int[] largoTramo = new int[64];
+    private int tramos = 0;
+
+    private int[] hashes = new int[256];
+    private int cantidadHashes = 0;
+
+    /**
+     * @param semilla La semilla con la que se inició el mundo.
+     * @param hashCada Cada cuántos ticks se guarda un hash del estado (1 = todos).
+     */
+    public Repeticion(long semilla, int hashCada) {
+        this.semilla = semilla;
+        this.hashCada = Math.max(1, hashCada);
+    }
+
+    public long getSemilla() { return semilla; }
+    public int getHashCada() { return hashCada; }
+    public int getTicks() { return ticks; }
+
+    // --- Bloque 3: Grabar ---
+
+    /**
+     * Anota un tick ya simulado. Se llama DESPUÉS de 'GameWorld.paso()'.
+     */
+    public void anotar(GameWorld mundo) {
+        byte botones = (byte) mundo.getBotones();
+        if (tramos > 0 && botonesTramo[tramos - 1] == botones) {
+            largoTramo[tramos - 1]++;
+        } else {
+            if (tramos == botonesTramo.length) {
+                botonesTramo = Arrays.copyOf(botonesTramo, tramos * 2);
+                largoTramo = Arrays.copyOf(largoTramo, tramos * 2);
+            }
+            botonesTramo[tramos] = botones;
+            largoTramo[tramos] = 1;
+            tramos++;
+        }
+
+        ticks++;
+        if (ticks % hashCada == 0) {
+            if (cantidadHashes == hashes.length) {
+                hashes = Arrays.copyOf(hashes, cantidadHashes * 2);
+            }
+            hashes[cantidadHashes++] = mundo.hashEstado();
+        }
+    }
+
+    /**
+     * Escribe la grabación en 'archivo' (lo reemplaza si existe).
+     */
+    public void guardar(Path archivo) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(archivo)))) {
+            out.writeInt(MAGIA);
+            out.writeByte(VERSION);
+            out.writeLong(semilla);
+            escribirVarint(out, hashCada);
+            escribirVarint(out, ticks);
+            escribirVarint(out, tramos);
+            byte anteriores = 0;
+            for (int i = 0; i < tramos; i++) {
+                out.writeByte(botonesTramo[i] ^ anteriores); // Solo los bits que cambiaron
+                escribirVarint(out, largoTramo[i]);
+                anteriores = botonesTramo[i];
+            }
+            for (int i = 0; i < cantidadHashes; i++) {
+                out.writeInt(hashes[i]);
+            }
+        }
+    }
+
+    /**
+     * Lee una grabación hecha con 'guardar()'.
+     */
+    public static Repeticion cargar(Path archivo) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(archivo)))) {
+            if (in.readInt() != MAGIA) throw new IOException("No es una repetición: " + archivo);
+            int version = in.readUnsignedByte();
+            if (version != VERSION) throw new IOException("Versión de repetición no soportada: " + version);
+
+            Repeticion r = new Repeticion(in.readLong(), leerVarint(in));
+            r.ticks = leerVarint(in);
+            r.tramos = leerVarint(in);
+            r.botonesTramo = new byte[Math.max(1, r.tramos)];
+            r.largoTramo = new int[Math.max(1, r.tramos)];
+            byte anteriores = 0;
+            for (int i = 0; i < r.tramos; i++) {
+                anteriores = (byte) (in.readByte() ^ anteriores);
+                r.botonesTramo[i] = anteriores;
+                r.largoTramo[i] = leerVarint(in);
+            }
+            r.cantidadHashes = r.ticks / r.hashCada;
+            r.hashes = new int[Math.max(1, r.cantidadHashes)];
+            for (int i = 0; i < r.cantidadHashes; i++) {
+                r.hashes[i] = in.readInt();
+            }
+            return r;
+        }
+    }
+
+    private static void escribirVarint(DataOutputStream out, int valor) throws IOException {
+        while ((valor & ~0x7F) != 0) {
+            out.writeByte((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        out.writeByte(valor);
+    }
+
+    private static int leerVarint(DataInputStream in) throws IOException {
+        int valor = 0;
+        for (int corrimiento = 0; corrimiento < 32; corrimiento += 7) {
+            int b = in.readUnsignedByte();
+            valor |= (b & 0x7F) << corrimiento;
+            if ((b & 0x80) == 0) return valor;
+        }
+        throw new IOException("Varint demasiado largo");
+    }
+
+    // --- Bloque 4: Reproducir ---
+
+    /**
+     * Crea la 'Entrada' que devuelve los botones grabados, tick por tick.
+     */
+    public Reproductor reproductor() {
+        return new Reproductor();
+    }
+
+    /**
+     * La 'Entrada' de una repetición. Después de cada 'paso()' hay que llamar a
+     * 'verificar()' para comparar el estado con el hash grabado.
+     */
+    public class Reproductor implements Entrada {
+        private int tramo = 0;     // Tramo actual
+        private int enTramo = 0;   // Ticks ya leídos del tramo actual
+        private int leidos = 0;
+        private int divergencia = -1; // Primer tick con hash distinto (-1 = ninguno)
+
+        @Override
+        public int leer(GameWorld mundo) {
+            if (tramo >= tramos) return 0; // Terminó la grabación: nadie aprieta nada
+            int botones = botonesTramo[tramo] & 0xFF;
+            if (++enTramo == largoTramo[tramo]) {
+                tramo++;
+                enTramo = 0;
+            }
+            leidos++;
+            return botones;
+        }
+
+        /**
+         * Compara el estado del mundo con el grabado (si este tick tiene hash).
+         * @return 'false' si el mundo ya no es igual al de la grabación.
+         */
+        public boolean verificar(GameWorld mundo) {
+            if (leidos > ticks || leidos % hashCada != 0) return divergencia < 0;
+            if (divergencia < 0 && hashes[leidos / hashCada - 1] != mundo.hashEstado()) {
+                divergencia = leidos;
+            }
+            return divergencia < 0;
+        }
+
+        public boolean isTerminado() { return leidos >= ticks; }
+        public int getTicksLeidos() { return leidos; }
+
+        /** @return El primer tick con un hash distinto, o -1 si hasta ahora todo coincide. */
+        public int getDivergencia() { return divergencia; }
+
+        /** @return Descripción del resultado (para la consola). */
+        public String resumen() {
+            if (divergencia < 0) {
+                return "Repetición: " + leidos + " de " + ticks + " ticks, sin divergencias";
+            }
+            String donde = (hashCada == 1) ? "en el tick " + divergencia
+                    : "entre el tick " + (divergencia - hashCada + 1) + " y el " + divergencia;
+            return "Repetición: DIVERGE " + donde + " (semilla " + semilla + ")";
+        }
+    }
+
+    // --- Bloque 5: Programa Principal (reproducir sin ventana) ---
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Uso: java Repeticion archivo.rep [--tiempo-real]");
+            System.exit(2);
+        }
+        Repeticion repeticion = cargar(Paths.get(args[0]));
+        boolean tiempoReal = args.length > 1 && args[1].equals("--tiempo-real");
+
+        GameWorld mundo = new GameWorld(repeticion.getSemilla());
+        mundo.setConMensajes(false);
+        Reproductor reproductor = repeticion.reproductor();
+
+        long nanosPorTick = 1_000_000_000L / 60;
+        long inicio = System.nanoTime();
+        mundo.iniciar();
+        while (!reproductor.isTerminado() && !mundo.isTerminado()) {
+            mundo.paso(reproductor);
+            if (!reproductor.verificar(mundo)) break; // Desde acá ya no tiene sentido seguir
+            if (tiempoReal) {
+                long objetivo = inicio + reproductor.getTicksLeidos() * nanosPorTick;
+                long restante = objetivo - System.nanoTime();
+                if (restante > 0) {
+                    try {
+                        Thread.sleep(restante / 1_000_000, (int) (restante % 1_000_000));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        System.out.println(reproductor.resumen());
+        System.out.printf("Puntuación %d, %d ticks en %.3f s (%.0f ticks/s)%n",
+                mundo.getPuntuacion(), reproductor.getTicksLeidos(), segundos,
+                reproductor.getTicksLeidos() / segundos);
+        if (reproductor.getDivergencia() >= 0) System.exit(1);
+    }
+}
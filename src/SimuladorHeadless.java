@@ -0,0 +1,129 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HERRAMIENTA - SimuladorHeadless (Partidas sin Ventana, a Toda Velocidad)
+ *
+ * Propósito: Programa aparte (NO se ejecuta durante el juego) que juega muchas
+ * partidas con un bot, sin ventana, sin sprites y sin sonido, lo más rápido
+ * que da la CPU (sin esperar los 1/60 s de cada tick). Sirve para balancear
+ * (¿cuántos puntos saca un jugador "razonable"? ¿cuánto dura?) y para
+ * comprobar que la simulación no se rompe en miles de partidas seguidas.
+ *
+ * Cada partida es un 'GameWorld' propio con semilla 'semilla + i', así que
+ * el resultado es el mismo sin importar cuántos hilos se usen.
+ *
+ * Uso: java -Djava.awt.headless=true SimuladorHeadless [partidas] [ticksMax] [semilla] [hilos]
+ *      (por defecto: 1000 partidas, 36000 ticks = 10 minutos de juego, semilla 1,
+ *       un hilo por procesador)
+ */
+public class SimuladorHeadless {
+
+    // --- Bloque 1: El Bot ---
+
+    /**
+     * Un jugador sencillo: camina hacia el enemigo más cercano y ataca cuando
+     * lo tiene al alcance. Sin enemigos, se queda quieto y a veces salta.
+     */
+    static class Bot implements Entrada {
+        private final Random rand;
+
+        Bot(long semilla) {
+            this.rand = new Random(semilla);
+        }
+
+        @Override
+        public int leer(GameWorld mundo) {
+            int objetivo = mundo.xEnemigoMasCercano();
+            if (objetivo == Integer.MIN_VALUE) {
+                return (rand.nextInt(60) == 0) ? SALTAR : 0;
+            }
+
+            int distancia = objetivo - mundo.getJugador().getX();
+            int botones = (distancia < 0) ? IZQUIERDA : DERECHA;
+            if (Math.abs(distancia) < mundo.tileSize / 2) {
+                botones |= ATACAR;
+            }
+            if (rand.nextInt(90) == 0) botones |= SALTAR; // Un poco de "ruido" humano
+            return botones;
+        }
+    }
+
+    // --- Bloque 2: Resultado de una Partida ---
+    static class Resultado {
+        final int puntuacion;
+        final long ticks;
+
+        Resultado(int puntuacion, long ticks) {
+            this.puntuacion = puntuacion;
+            this.ticks = ticks;
+        }
+    }
+
+    /**
+     * Juega una partida completa (hasta perder o llegar a 'ticksMax').
+     */
+    static Resultado jugar(long semilla, long ticksMax) {
+        GameWorld mundo = new GameWorld(semilla);
+        mundo.setConMensajes(false);
+        Bot bot = new Bot(semilla);
+
+        mundo.iniciar();
+        while (!mundo.isTerminado() && mundo.getTick() < ticksMax) {
+            mundo.paso(bot);
+        }
+        return new Resultado(mundo.getPuntuacion(), mundo.getTick());
+    }
+
+    // --- Bloque 3: Programa Principal ---
+    public static void main(String[] args) {
+        int partidas = (args.length > 0) ? Integer.parseInt(args[0]) : 1000;
+        long ticksMax = (args.length > 1) ? Long.parseLong(args[1]) : 36_000;
+        long semilla = (args.length > 2) ? Long.parseLong(args[2]) : 1;
+        int hilos = (args.length > 3) ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        AtomicInteger numero = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, hilos), tarea -> {
+            Thread t = new Thread(tarea, "Simulador-" + numero.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        long inicio = System.nanoTime();
+        List<CompletableFuture<Resultado>> futuros = new ArrayList<>(partidas);
+        for (int i = 0; i < partidas; i++) {
+            long semillaPartida = semilla + i;
+            futuros.add(CompletableFuture.supplyAsync(() -> jugar(semillaPartida, ticksMax), executor));
+        }
+
+        // Se recorren en orden de semilla: el resumen no depende de qué hilo terminó primero
+        long ticksTotales = 0, puntosTotales = 0;
+        int puntosMin = Integer.MAX_VALUE, puntosMax = Integer.MIN_VALUE, perdidas = 0;
+        for (CompletableFuture<Resultado> futuro : futuros) {
+            Resultado r = futuro.join();
+            ticksTotales += r.ticks;
+            puntosTotales += r.puntuacion;
+            puntosMin = Math.min(puntosMin, r.puntuacion);
+            puntosMax = Math.max(puntosMax, r.puntuacion);
+            if (r.ticks < ticksMax) perdidas++;
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        executor.shutdown();
+
+        System.out.printf("Partidas: %d (semillas %d..%d) en %d hilos, %.2f s%n",
+                partidas, semilla, semilla + partidas - 1, hilos, segundos);
+        System.out.printf("Ticks simulados: %d (%.0f ticks/s, %.0fx tiempo real)%n",
+                ticksTotales, ticksTotales / segundos, ticksTotales / segundos / 60.0);
+        if (partidas > 0) {
+            System.out.printf("Puntuación: media %.1f, mínima %d, máxima %d%n",
+                    (double) puntosTotales / partidas, puntosMin, puntosMax);
+            System.out.printf("Duración media: %.1f s de juego; %d de %d partidas perdidas antes de %d ticks%n",
+                    ticksTotales / 60.0 / partidas, perdidas, partidas, ticksMax);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import javax.sound.sampled.AudioInputStream; // Para leer el stream de datos del
 import javax.sound.sampled.AudioSystem;    // El "administrador" de audio
 import javax.sound.sampled.Clip;             // El "reproductor" que sostiene el audio
 import javax.sound.sampled.FloatControl;   // Para controlar el volumen (ganancia)
+import javax.sound.sampled.LineEvent;      // Para saber cuándo terminó un sonido
 import java.net.URL; // Para encontrar la ruta de nuestros archivos de recursos
 
 /**
@@ -117,21 +118,36 @@ public class Sound {
     //
     // Propósito: Un método "dispara y olvida" para efectos de sonido (SFX).
     // 'static' significa que pertenece a la CLASE Sound, no a una INSTANCIA.
-    // Jugador y GamePanel pueden llamar a 'Sound.playSound(...)'
-    // sin necesidad de tener una variable 'Sound' propia.
+    //
+    // Los efectos del juego ya NO pasan por aquí: usan 'SoundBank', que los
+    // tiene precargados. Este método queda para cualquier otro archivo.
     //
     /**
-     * Un método "estático" rápido para reproducir un efecto de sonido (SFX).
-     * Crea un objeto Sound temporal, carga el archivo, lo reproduce
-     * una vez, y luego el 'Garbage Collector' de Java lo elimina.
+     * Un método "estático" para reproducir un efecto de sonido (SFX).
+     * Si la ruta es un efecto del 'SoundBank', lo reproduce desde ahí (sin
+     * leer el disco). Si no, crea un objeto Sound temporal, carga el archivo,
+     * lo reproduce una vez y cierra el 'Clip' al terminar.
      * @param soundFileName La ruta al archivo (ej. "/sounds/ataque-golpe_01.wav")
      * @param volume El volumen (0.0f a 1.0f)
      */
     public static void playSound(String soundFileName, float volume) {
+        SoundBank.Efecto efecto = SoundBank.Efecto.desdeRuta(soundFileName);
+        if (efecto != null) {
+            SoundBank.reproducir(efecto, volume);
+            return;
+        }
+
+        EventosJuego.sonido(soundFileName, volume);
         Sound sfx = new Sound(); // 1. Crea un reproductor temporal
         sfx.setFile(soundFileName); // 2. Carga el sonido
+        if (sfx.clip == null) return;
         sfx.setVolume(volume);      // 3. Ajusta el volumen
-        sfx.play();                 // 4. Lo reproduce
-        // (El objeto 'sfx' se destruye solo)
+        // 4. Libera la línea de audio cuando termina (si no, queda abierta para siempre)
+        sfx.clip.addLineListener(evento -> {
+            if (evento.getType() == LineEvent.Type.STOP) {
+                evento.getLine().close();
+            }
+        });
+        sfx.play();                 // 5. Lo reproduce
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,427 @@
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.SourceDataLine;
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CLASE DE UTILIDAD - SoundBank (Banco de Efectos de Sonido)
+ *
+ * Propósito: Reproducir los efectos de sonido (SFX) sin tocar el disco ni
+ * crear objetos durante la partida. Antes, cada golpe hacía un 'new Sound()',
+ * volvía a leer el WAV, abría un 'Clip' nuevo y nunca lo cerraba.
+ *
+ * Ahora:
+ * 1. Cada efecto se decodifica UNA vez al cargar, a PCM en un formato común.
+ * 2. Hay un número fijo de "voces" (ranuras). Disparar un sonido solo ocupa
+ *    una ranura libre: no crea objetos y tarda lo mismo siempre.
+ * 3. Un hilo propio mezcla las voces activas y las escribe en UNA sola línea
+ *    de audio abierta al principio. El Game Loop solo le manda comandos por
+ *    una cola sin locks, así la latencia del audio nunca alarga un tick.
+ * 4. Si no hay voces libres, se "roba" la de menor prioridad (o la más vieja),
+ *    y cada efecto tiene un máximo de copias sonando a la vez.
+ */
+public class SoundBank {
+
+    // --- Bloque 1: Los Efectos ---
+
+    /**
+     * Cada efecto de sonido del juego, con su prioridad (mayor = más importante)
+     * y cuántas copias pueden sonar a la vez.
+     */
+    public enum Efecto {
+        GOLPE("/sounds/ataque-golpe_01.wav", 2, 3),
+        APLASTADO("/sounds/aplastado_01.wav", 2, 2),
+        ANTES_GOLPE("/sounds/ataque-antes-golpe_01.wav", 1, 2);
+        // (La música de Game Over la toca 'MusicPlayer', en streaming)
+
+        final String ruta;
+        final int prioridad;
+        final int maxSimultaneos;
+
+        Efecto(String ruta, int prioridad, int maxSimultaneos) {
+            this.ruta = ruta;
+            this.prioridad = prioridad;
+            this.maxSimultaneos = maxSimultaneos;
+        }
+
+        /**
+         * @return El efecto que corresponde a una ruta, o 'null' si no es un efecto del banco.
+         */
+        public static Efecto desdeRuta(String ruta) {
+            for (Efecto e : EFECTOS) {
+                if (e.ruta.equals(ruta)) return e;
+            }
+            return null;
+        }
+    }
+
+    private static final Efecto[] EFECTOS = Efecto.values();
+
+    // --- Bloque 2: Configuración del Mezclador ---
+    static final float FRECUENCIA = 44100f;
+    static final int CANALES = 2;
+    static final AudioFormat FORMATO = new AudioFormat(FRECUENCIA, 16, CANALES, true, false);
+    static final int VOCES = 8;                // Sonidos que pueden sonar a la vez
+    static final int FRAMES_POR_BLOQUE = 512;  // ~11.6 ms de audio por cada escritura
+    static final int CAPACIDAD_COLA = 256;     // Comandos pendientes (potencia de 2)
+    static final float VOLUMEN_MAX_AGRUPADO = 2.0f;
+
+    // Tipos de comando de la cola
+    static final int COMANDO_REPRODUCIR = 1;
+    static final int COMANDO_DETENER = 2;
+    static final int COMANDO_VOLUMEN = 3;
+    static final int TODOS = 0xFF; // "Efecto" que significa todos los efectos
+
+    private static final SoundBank GLOBAL = new SoundBank();
+
+    // --- Bloque 3: Datos ---
+    private final short[][] muestras = new short[EFECTOS.length][]; // PCM intercalado (L, R, L, R...)
+
+    // Estado de cada voz. 'vozEfecto' = -1 significa "libre".
+    private final int[] vozEfecto = new int[VOCES];
+    private final int[] vozPosicion = new int[VOCES];  // Próxima muestra a reproducir
+    private final float[] vozVolumen = new float[VOCES];
+    private final long[] vozOrden = new long[VOCES];   // Para saber cuál es la más vieja
+    private final int[] activasPorEfecto = new int[EFECTOS.length];
+    private long disparos = 0;
+    private float volumenGeneral = 1f;
+    private volatile int vocesActivas = 0;
+
+    // Pedidos del tick actual (solo los toca el Game Loop)
+    private final int[] pedidosEnTick = new int[EFECTOS.length];
+    private final float[] volumenEnTick = new float[EFECTOS.length];
+
+    // Cola de comandos Game Loop -> mezclador
+    private final long[] cola = new long[CAPACIDAD_COLA];
+    private final AtomicLong colaEscritos = new AtomicLong();
+    private final AtomicLong colaLeidos = new AtomicLong();
+    private final LongAdder comandosDescartados = new LongAdder(); // Lo lee JMX desde otro hilo
+
+    // Buffers del mezclador (reservados una sola vez)
+    private final int[] mezcla = new int[FRAMES_POR_BLOQUE * CANALES];
+    private final byte[] salida = new byte[FRAMES_POR_BLOQUE * CANALES * 2];
+
+    private volatile SourceDataLine linea; // 'null' si no hay dispositivo de audio
+    private boolean cargado = false;
+
+    private SoundBank() {
+        Arrays.fill(vozEfecto, -1);
+    }
+
+    /**
+     * El banco compartido por todo el juego.
+     */
+    public static SoundBank global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Atajo para 'global().pedir(...)'.
+     */
+    public static void reproducir(Efecto efecto, float volumen) {
+        EventosJuego.sonido(efecto.name(), volumen);
+        GLOBAL.pedir(efecto, volumen);
+    }
+
+    // --- Bloque 4: Carga ---
+
+    /**
+     * Decodifica todos los efectos, abre la línea de audio y arranca el hilo
+     * mezclador. Se llama una vez durante la carga (no en el Game Loop).
+     * Si no hay dispositivo de audio, los disparos simplemente no suenan.
+     */
+    public synchronized void cargar() {
+        if (cargado) return;
+        cargado = true;
+
+        for (Efecto e : EFECTOS) {
+            muestras[e.ordinal()] = decodificar(e.ruta);
+        }
+
+        try {
+            linea = AudioSystem.getSourceDataLine(FORMATO);
+            linea.open(FORMATO, salida.length * 4);
+            linea.start();
+        } catch (Exception e) {
+            System.err.println("No hay salida de audio disponible; los efectos no sonarán.");
+            e.printStackTrace();
+            linea = null;
+            return;
+        }
+
+        Thread hilo = new Thread(this::bucleMezclador, "SoundBank-Mezclador");
+        hilo.setDaemon(true);
+        hilo.setPriority(Thread.MAX_PRIORITY);
+        hilo.start();
+    }
+
+    /**
+     * Lee un WAV completo y lo convierte a 16 bits estéreo a FRECUENCIA Hz.
+     * @return Las muestras intercaladas, o un array vacío si falló.
+     */
+    private static short[] decodificar(String ruta) {
+        try (InputStream in = SoundBank.class.getResourceAsStream(ruta)) {
+            if (in == null) throw new IllegalArgumentException("No existe el recurso");
+            AudioInputStream original = AudioSystem.getAudioInputStream(new BufferedInputStream(in));
+            AudioFormat f = original.getFormat();
+            AudioFormat pcm16 = new AudioFormat(f.getSampleRate(), 16, f.getChannels(), true, false);
+            byte[] bytes = AudioSystem.getAudioInputStream(pcm16, original).readAllBytes();
+
+            int canales = f.getChannels();
+            int frames = bytes.length / (2 * canales);
+            short[] entrada = new short[frames * CANALES];
+            for (int i = 0; i < frames; i++) {
+                for (int c = 0; c < CANALES; c++) {
+                    int b = (i * canales + Math.min(c, canales - 1)) * 2; // Mono -> ambos canales
+                    entrada[i * CANALES + c] = (short) ((bytes[b] & 0xFF) | (bytes[b + 1] << 8));
+                }
+            }
+            return remuestrear(entrada, f.getSampleRate());
+        } catch (Exception e) {
+            System.err.println("Error al cargar el efecto de sonido: " + ruta);
+            e.printStackTrace();
+            return new short[0];
+        }
+    }
+
+    /**
+     * Cambia la frecuencia de muestreo a FRECUENCIA con interpolación lineal
+     * (los WAV del juego vienen a 16, 24 y 44.1 kHz). Se hace una sola vez al cargar.
+     */
+    private static short[] remuestrear(short[] entrada, float frecuenciaOriginal) {
+        if (frecuenciaOriginal == FRECUENCIA) return entrada;
+
+        int framesEntrada = entrada.length / CANALES;
+        int framesSalida = (int) ((long) framesEntrada * FRECUENCIA / frecuenciaOriginal);
+        short[] resultado = new short[framesSalida * CANALES];
+        double paso = frecuenciaOriginal / FRECUENCIA;
+        for (int i = 0; i < framesSalida; i++) {
+            double pos = i * paso;
+            int a = (int) pos;
+            int b = Math.min(a + 1, framesEntrada - 1);
+            double t = pos - a;
+            for (int c = 0; c < CANALES; c++) {
+                resultado[i * CANALES + c] = (short) Math.round(
+                        entrada[a * CANALES + c] * (1 - t) + entrada[b * CANALES + c] * t);
+            }
+        }
+        return resultado;
+    }
+
+    // --- Bloque 5: Pedidos del Juego (hilo del Game Loop) ---
+    //
+    // El Game Loop NUNCA toca las voces ni la línea de audio: solo anota
+    // pedidos. Los pedidos iguales dentro de un mismo tick se juntan en uno
+    // (tres golpes a la vez suenan como UN golpe más fuerte, no tres), y al
+    // final del tick se envían al mezclador por una cola sin bloqueos.
+    //
+
+    /**
+     * Pide reproducir un efecto en este tick. No crea objetos ni espera a nada.
+     * Solo debe llamarse desde el hilo del Game Loop.
+     * @param volumen Volumen lineal (0.0 = silencio, 1.0 = original)
+     */
+    public void pedir(Efecto efecto, float volumen) {
+        if (linea == null) return;
+        int e = efecto.ordinal();
+        pedidosEnTick[e]++;
+        volumenEnTick[e] = Math.max(volumenEnTick[e], volumen);
+    }
+
+    /**
+     * Envía al mezclador los pedidos acumulados en el tick, uno por efecto.
+     * GamePanel lo llama al final de cada 'actualizar()'.
+     */
+    public void finDeTick() {
+        for (int e = 0; e < EFECTOS.length; e++) {
+            int pedidos = pedidosEnTick[e];
+            if (pedidos == 0) continue;
+
+            // N copias iguales y simultáneas suman energía como sqrt(N)
+            float volumen = Math.min(VOLUMEN_MAX_AGRUPADO, volumenEnTick[e] * (float) Math.sqrt(pedidos));
+            enviar(COMANDO_REPRODUCIR, e, volumen);
+            pedidosEnTick[e] = 0;
+            volumenEnTick[e] = 0f;
+        }
+    }
+
+    /**
+     * Detiene todas las copias de un efecto que estén sonando (o todas, si es 'null').
+     */
+    public void detener(Efecto efecto) {
+        if (linea == null) return;
+        enviar(COMANDO_DETENER, (efecto == null) ? TODOS : efecto.ordinal(), 0f);
+    }
+
+    /**
+     * Cambia el volumen general de los efectos (1.0 = original).
+     */
+    public void setVolumen(float volumen) {
+        if (linea == null) return;
+        enviar(COMANDO_VOLUMEN, TODOS, volumen);
+    }
+
+    /**
+     * @return Cuántas voces estaban sonando en el último bloque mezclado.
+     */
+    public int getVocesActivas() {
+        return vocesActivas;
+    }
+
+    /**
+     * @return Cuántos comandos se perdieron porque la cola estaba llena.
+     */
+    public long getComandosDescartados() {
+        return comandosDescartados.sum();
+    }
+
+    // --- Bloque 6: La Cola de Comandos ---
+    //
+    // Un "ring buffer" de UN productor (el Game Loop) y UN consumidor (el
+    // mezclador). Cada comando cabe en un 'long': tipo, efecto y volumen.
+    // Cada lado solo escribe su propio contador, así que no hacen falta locks:
+    // basta con publicar el contador (lazySet) después de escribir la ranura.
+    //
+    private void enviar(int tipo, int efecto, float volumen) {
+        long escritos = colaEscritos.get();
+        if (escritos - colaLeidos.get() >= CAPACIDAD_COLA) {
+            comandosDescartados.increment(); // Llena: el mezclador está muy atrasado
+            return;
+        }
+        cola[(int) (escritos & (CAPACIDAD_COLA - 1))] = ((long) tipo << 40) | ((long) (efecto & 0xFF) << 32)
+                | (Float.floatToRawIntBits(volumen) & 0xFFFFFFFFL);
+        colaEscritos.lazySet(escritos + 1);
+    }
+
+    /**
+     * Aplica (en el hilo mezclador) todos los comandos que llegaron.
+     */
+    private void procesarComandos() {
+        long leidos = colaLeidos.get();
+        long escritos = colaEscritos.get();
+        while (leidos < escritos) {
+            long comando = cola[(int) (leidos & (CAPACIDAD_COLA - 1))];
+            int tipo = (int) (comando >>> 40);
+            int efecto = (int) ((comando >>> 32) & 0xFF);
+            float volumen = Float.intBitsToFloat((int) comando);
+
+            switch (tipo) {
+                case COMANDO_REPRODUCIR: iniciarVoz(efecto, volumen); break;
+                case COMANDO_DETENER:    detenerVoces(efecto); break;
+                case COMANDO_VOLUMEN:    volumenGeneral = volumen; break;
+            }
+            leidos++;
+        }
+        colaLeidos.lazySet(leidos);
+    }
+
+    // --- Bloque 7: Las Voces (solo las toca el hilo mezclador) ---
+
+    /**
+     * Empieza a reproducir un efecto en una voz. No crea objetos y no depende
+     * de cuántos sonidos haya: solo recorre las VOCES ranuras.
+     */
+    private void iniciarVoz(int efecto, float volumen) {
+        if (muestras[efecto].length == 0) return;
+
+        int voz = elegirVoz(EFECTOS[efecto]);
+        if (voz < 0) return; // Todas las voces suenan algo más importante
+
+        if (vozEfecto[voz] >= 0) {
+            activasPorEfecto[vozEfecto[voz]]--; // Se roba la voz
+        }
+        vozEfecto[voz] = efecto;
+        vozPosicion[voz] = 0;
+        vozVolumen[voz] = volumen;
+        vozOrden[voz] = ++disparos;
+        activasPorEfecto[efecto]++;
+    }
+
+    private void detenerVoces(int efecto) {
+        for (int v = 0; v < VOCES; v++) {
+            if (vozEfecto[v] >= 0 && (efecto == TODOS || vozEfecto[v] == efecto)) {
+                activasPorEfecto[vozEfecto[v]]--;
+                vozEfecto[v] = -1;
+            }
+        }
+    }
+
+    /**
+     * Elige la voz para un efecto nuevo:
+     * 1. Si el efecto ya llegó a su máximo, reutiliza su copia más vieja.
+     * 2. Si no, una voz libre.
+     * 3. Si no hay libres, la de menor prioridad (la más vieja entre iguales),
+     *    siempre que no sea más importante que el efecto nuevo.
+     * @return El índice de la voz, o -1 si no se debe reproducir.
+     */
+    private int elegirVoz(Efecto efecto) {
+        boolean alLimite = activasPorEfecto[efecto.ordinal()] >= efecto.maxSimultaneos;
+        int elegida = -1;
+        for (int v = 0; v < VOCES; v++) {
+            int e = vozEfecto[v];
+            if (alLimite) {
+                if (e == efecto.ordinal() && (elegida < 0 || vozOrden[v] < vozOrden[elegida])) elegida = v;
+            } else if (e < 0) {
+                return v;
+            } else if (EFECTOS[e].prioridad <= efecto.prioridad) {
+                if (elegida < 0 || EFECTOS[e].prioridad < EFECTOS[vozEfecto[elegida]].prioridad
+                        || (EFECTOS[e].prioridad == EFECTOS[vozEfecto[elegida]].prioridad && vozOrden[v] < vozOrden[elegida])) {
+                    elegida = v;
+                }
+            }
+        }
+        return elegida;
+    }
+
+    // --- Bloque 8: El Mezclador (hilo propio) ---
+
+    /**
+     * Aplica los comandos, mezcla un bloque de FRAMES_POR_BLOQUE y lo escribe
+     * en la línea, para siempre. 'write' bloquea hasta que haya lugar en la
+     * línea: eso marca el ritmo del hilo.
+     */
+    private void bucleMezclador() {
+        while (true) {
+            procesarComandos();
+            mezclarBloque();
+            linea.write(salida, 0, salida.length);
+        }
+    }
+
+    private void mezclarBloque() {
+        Arrays.fill(mezcla, 0);
+        int activas = 0;
+
+        for (int v = 0; v < VOCES; v++) {
+            int e = vozEfecto[v];
+            if (e < 0) continue;
+            activas++;
+
+            short[] datos = muestras[e];
+            int pos = vozPosicion[v];
+            int cantidad = Math.min(mezcla.length, datos.length - pos);
+            float volumen = vozVolumen[v] * volumenGeneral;
+            for (int i = 0; i < cantidad; i++) {
+                mezcla[i] += (int) (datos[pos + i] * volumen);
+            }
+
+            vozPosicion[v] = pos + cantidad;
+            if (vozPosicion[v] >= datos.length) { // Terminó: libera la voz
+                vozEfecto[v] = -1;
+                activasPorEfecto[e]--;
+            }
+        }
+        vocesActivas = activas;
+
+        for (int i = 0; i < mezcla.length; i++) {
+            int m = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mezcla[i])); // Evita desbordes
+            salida[i * 2] = (byte) m;
+            salida[i * 2 + 1] = (byte) (m >> 8);
+        }
+    }
+}
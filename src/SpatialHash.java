@@ -0,0 +1,168 @@
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * CLASE DE UTILIDAD - SpatialHash (Grilla Espacial para Colisiones)
+ *
+ * Propósito: Evitar comparar el jugador contra TODOS los enemigos en cada tick.
+ * La pantalla se divide en celdas de 'tamanoCelda' (el 'tileSize') y cada
+ * objeto se anota en las celdas que toca. Para saber con quién puede chocar
+ * un rectángulo, solo se miran los objetos de SUS celdas ("fase amplia").
+ * Después, 'intersects' decide de verdad ("fase precisa"), como siempre.
+ *
+ * Las celdas se guardan en una tabla fija de cubetas (hash de la celda), así
+ * que el mundo no tiene límites y no hay que reservar memoria por celda.
+ * Si dos celdas caen en la misma cubeta solo aparecen candidatos de más, que
+ * la fase precisa descarta.
+ *
+ * La grilla se actualiza de a un objeto: si no cambió de celdas, no se hace nada.
+ * Cada objeto recuerda en qué posición quedó dentro de cada cubeta, así que
+ * sacarlo es O(1): su lugar lo ocupa el último de la cubeta ("swap-remove").
+ */
+public class SpatialHash<T extends GameObject> {
+
+    // --- Bloque 1: Configuración ---
+    static final int CUBETAS = 256; // Potencia de 2 (para usar '& mascara' en vez de '%')
+
+    private final int tamanoCelda;
+    private final int mascara = CUBETAS - 1;
+    private final List<List<T>> cubetas = new ArrayList<>(CUBETAS);
+    private int marcaActual = 0; // Para no devolver dos veces el mismo objeto en una consulta
+    private final int[] marcaCubeta = new int[CUBETAS]; // Para no anotar dos veces en la misma cubeta
+
+    public SpatialHash(int tamanoCelda) {
+        this.tamanoCelda = tamanoCelda;
+        for (int i = 0; i < CUBETAS; i++) cubetas.add(new ArrayList<>());
+    }
+
+    // --- Bloque 2: Actualización (incremental) ---
+
+    /**
+     * Anota (o re-anota) un objeto en las celdas que cubre el rectángulo
+     * (x0, y0)-(x1, y1), en píxeles. Si sigue en las mismas celdas que antes, no
+     * toca nada: la mayoría de los ticks un enemigo no cambia de celda.
+     */
+    public void actualizar(T obj, int x0, int y0, int x1, int y1) {
+        int cx0 = Math.floorDiv(x0, tamanoCelda);
+        int cy0 = Math.floorDiv(y0, tamanoCelda);
+        int cx1 = Math.floorDiv(x1, tamanoCelda);
+        int cy1 = Math.floorDiv(y1, tamanoCelda);
+
+        if (obj.enGrilla && cx0 == obj.celdaX0 && cy0 == obj.celdaY0
+                && cx1 == obj.celdaX1 && cy1 == obj.celdaY1) {
+            return; // Mismas celdas: nada que hacer
+        }
+
+        quitar(obj);
+        int marca = ++marcaActual;
+        for (int cy = cy0; cy <= cy1; cy++) {
+            for (int cx = cx0; cx <= cx1; cx++) {
+                int c = cubeta(cx, cy);
+                if (marcaCubeta[c] == marca) continue; // Dos celdas pueden compartir cubeta
+                marcaCubeta[c] = marca;
+                anotar(obj, c);
+            }
+        }
+        obj.celdaX0 = cx0;
+        obj.celdaY0 = cy0;
+        obj.celdaX1 = cx1;
+        obj.celdaY1 = cy1;
+        obj.enGrilla = true;
+    }
+
+    /**
+     * Saca un objeto de la grilla (ej. cuando un enemigo muere).
+     */
+    public void quitar(T obj) {
+        if (!obj.enGrilla) return;
+        for (int k = 0; k < obj.numCubetasGrilla; k++) {
+            List<T> cubeta = cubetas.get(obj.cubetasGrilla[k]);
+            int pos = obj.posGrilla[k];
+            T ultimo = cubeta.remove(cubeta.size() - 1);
+            if (ultimo != obj) { // El último pasa al lugar que deja 'obj'
+                cubeta.set(pos, ultimo);
+                ultimo.posGrilla[indiceEn(ultimo, obj.cubetasGrilla[k])] = pos;
+            }
+        }
+        obj.numCubetasGrilla = 0;
+        obj.enGrilla = false;
+    }
+
+    /**
+     * Agrega el objeto al final de la cubeta 'c' y recuerda en qué posición quedó.
+     */
+    private void anotar(T obj, int c) {
+        if (obj.numCubetasGrilla == obj.cubetasGrilla.length) { // Solo si ocupa muchas celdas
+            obj.cubetasGrilla = Arrays.copyOf(obj.cubetasGrilla, obj.numCubetasGrilla * 2);
+            obj.posGrilla = Arrays.copyOf(obj.posGrilla, obj.numCubetasGrilla * 2);
+        }
+        List<T> cubeta = cubetas.get(c);
+        obj.cubetasGrilla[obj.numCubetasGrilla] = c;
+        obj.posGrilla[obj.numCubetasGrilla] = cubeta.size();
+        obj.numCubetasGrilla++;
+        cubeta.add(obj);
+    }
+
+    /**
+     * En qué lugar de las cubetas del objeto está la cubeta 'c' (son pocas).
+     */
+    private int indiceEn(T obj, int c) {
+        int k = 0;
+        while (obj.cubetasGrilla[k] != c) k++;
+        return k;
+    }
+
+    /**
+     * Vacía la grilla (ej. al reiniciar la partida).
+     */
+    public void limpiar() {
+        for (int c = 0; c < cubetas.size(); c++) { // Con índices: sin crear Iterators
+            List<T> cubeta = cubetas.get(c);
+            for (int i = 0; i < cubeta.size(); i++) {
+                T obj = cubeta.get(i);
+                obj.enGrilla = false;
+                obj.numCubetasGrilla = 0;
+            }
+            cubeta.clear();
+        }
+    }
+
+    // --- Bloque 3: Consulta ---
+
+    /**
+     * Llena 'salida' con los objetos que PODRÍAN tocar el rectángulo (los de sus
+     * celdas), cada uno una sola vez. Falta la comprobación precisa ('intersects').
+     * @param salida Lista a reutilizar entre consultas (se vacía al empezar).
+     */
+    public void consultar(Rectangle r, List<T> salida) {
+        salida.clear();
+        if (r.width <= 0 || r.height <= 0) return;
+
+        int marca = ++marcaActual;
+        int cx0 = Math.floorDiv(r.x, tamanoCelda);
+        int cy0 = Math.floorDiv(r.y, tamanoCelda);
+        int cx1 = Math.floorDiv(r.x + r.width - 1, tamanoCelda);
+        int cy1 = Math.floorDiv(r.y + r.height - 1, tamanoCelda);
+
+        for (int cy = cy0; cy <= cy1; cy++) {
+            for (int cx = cx0; cx <= cx1; cx++) {
+                List<T> cubeta = cubetas.get(cubeta(cx, cy));
+                for (int i = 0; i < cubeta.size(); i++) {
+                    T obj = cubeta.get(i);
+                    if (obj.marcaConsulta == marca) continue; // Ya estaba en 'salida'
+                    obj.marcaConsulta = marca;
+                    salida.add(obj);
+                }
+            }
+        }
+    }
+
+    /**
+     * Mezcla las coordenadas de la celda en un número de cubeta.
+     */
+    private int cubeta(int cx, int cy) {
+        return (cx * 73856093 ^ cy * 19349663) & mascara;
+    }
+}
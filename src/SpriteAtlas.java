@@ -0,0 +1,174 @@
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CLASE DE UTILIDAD - SpriteAtlas (Atlas de Sprites)
+ *
+ * Propósito: Guardar TODOS los frames de animación ya escalados a 'tileSize'
+ * dentro de unas pocas imágenes grandes ("páginas"), en el formato nativo de
+ * la pantalla (createCompatibleImage). Cada frame se identifica con un número
+ * (su "id") que indica en qué página y en qué celda está.
+ *
+ * ¿Por qué? Antes cada 'dibujar()' escalaba un PNG grande a 112px en CADA frame,
+ * y en el formato que devolvía ImageIO (que suele obligar a Java2D a usar un
+ * bucle lento por software). Ahora el escalado se hace UNA vez al cargar y
+ * dibujar es copiar un rectángulo sin escalar (un "blit").
+ */
+public class SpriteAtlas {
+
+    // --- Bloque 1: Configuración ---
+    public static final int SIN_FRAME = -1; // Id de un frame que no se pudo cargar
+    public static final int ESPEJO = 1 << 30; // Bit que, sumado a un id, lo dibuja reflejado en X
+    static final int TAMANO_PAGINA = 1024;  // Ancho y alto de cada página (px)
+
+    private final int tamanoFrame;    // Lado de cada celda (el tileSize del juego)
+    private final int framesPorFila;
+    private final int framesPorPagina;
+
+    // --- Bloque 2: Las Páginas ---
+    private final List<BufferedImage> paginas = new ArrayList<>();
+    private int cantidadFrames = 0;
+
+    /**
+     * Crea un atlas vacío.
+     * @param tamanoFrame Tamaño (en px) al que se escalan todos los frames.
+     */
+    public SpriteAtlas(int tamanoFrame) {
+        this.tamanoFrame = tamanoFrame;
+        this.framesPorFila = TAMANO_PAGINA / tamanoFrame;
+        this.framesPorPagina = framesPorFila * framesPorFila;
+    }
+
+    /**
+     * Escala una imagen a 'tamanoFrame' y la copia en la siguiente celda libre.
+     * @param original La imagen tal como la devolvió ImageIO (puede ser 'null').
+     * @return El id del frame, o SIN_FRAME si 'original' era 'null'.
+     */
+    public synchronized int agregar(BufferedImage original) {
+        if (original == null) return SIN_FRAME;
+
+        int id = cantidadFrames++;
+        int pagina = id / framesPorPagina;
+        if (pagina == paginas.size()) {
+            paginas.add(crearPagina());
+        }
+
+        Graphics2D g = paginas.get(pagina).createGraphics();
+        try {
+            // El escalado de calidad solo se paga una vez, aquí
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setComposite(AlphaComposite.Src);
+            g.drawImage(original, celdaX(id), celdaY(id), tamanoFrame, tamanoFrame, null);
+        } finally {
+            g.dispose();
+        }
+        return id;
+    }
+
+    /**
+     * Agrega un frame NUEVO que es el reflejo horizontal de otro ya existente.
+     * (Cuesta memoria, pero no vuelve a decodificar ni a escalar nada).
+     * @return El id del nuevo frame, o SIN_FRAME si 'idOriginal' no es válido.
+     */
+    public synchronized int agregarEspejo(int idOriginal) {
+        if (idOriginal < 0 || (idOriginal & ESPEJO) != 0 || idOriginal >= cantidadFrames) return SIN_FRAME;
+
+        // Se copia primero a una imagen aparte para no leer y escribir la misma página
+        BufferedImage copia = new BufferedImage(tamanoFrame, tamanoFrame, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D gc = copia.createGraphics();
+        gc.setComposite(AlphaComposite.Src);
+        dibujar(gc, idOriginal | ESPEJO, 0, 0);
+        gc.dispose();
+
+        int id = cantidadFrames++;
+        if (id / framesPorPagina == paginas.size()) {
+            paginas.add(crearPagina());
+        }
+        Graphics2D g = paginas.get(id / framesPorPagina).createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Src);
+            g.drawImage(copia, celdaX(id), celdaY(id), null);
+        } finally {
+            g.dispose();
+        }
+        return id;
+    }
+
+    /**
+     * Agrega varios frames seguidos (una animación completa).
+     * @return Los ids de cada frame, en el mismo orden.
+     */
+    public int[] agregarTodos(BufferedImage[] originales) {
+        int[] ids = new int[originales.length];
+        for (int i = 0; i < originales.length; i++) {
+            ids[i] = agregar(originales[i]);
+        }
+        return ids;
+    }
+
+    /**
+     * Dibuja un frame en (x, y) a su tamaño real (sin escalar).
+     * Si el id lleva el bit ESPEJO, lo dibuja reflejado: basta con invertir
+     * las esquinas del destino (pero Java2D lo dibuja con una transformación
+     * que crea en cada llamada; sin ESPEJO es una copia que no crea nada).
+     * @return 'false' si el id no es válido (para que el llamador dibuje un aviso).
+     */
+    public boolean dibujar(Graphics2D g, int id, int x, int y) {
+        if (id < 0) return false;
+        boolean espejo = (id & ESPEJO) != 0;
+        id &= ~ESPEJO;
+        if (id >= cantidadFrames) return false;
+
+        int sx = celdaX(id);
+        int sy = celdaY(id);
+        int dx1 = espejo ? x + tamanoFrame : x;
+        int dx2 = espejo ? x : x + tamanoFrame;
+        g.drawImage(paginas.get(id / framesPorPagina),
+                dx1, y, dx2, y + tamanoFrame,
+                sx, sy, sx + tamanoFrame, sy + tamanoFrame, null);
+        return true;
+    }
+
+    // --- Bloque 3: Getters ---
+    public int getTamanoFrame() { return tamanoFrame; }
+    public int getCantidadFrames() { return cantidadFrames; }
+    public int getCantidadPaginas() { return paginas.size(); }
+
+    /**
+     * Memoria aproximada que ocupan las páginas (4 bytes por píxel).
+     */
+    public long getBytes() {
+        return (long) paginas.size() * TAMANO_PAGINA * TAMANO_PAGINA * 4;
+    }
+
+    // --- Bloque 4: Métodos Ayudantes ---
+
+    private int celdaX(int id) {
+        return ((id % framesPorPagina) % framesPorFila) * tamanoFrame;
+    }
+
+    private int celdaY(int id) {
+        return ((id % framesPorPagina) / framesPorFila) * tamanoFrame;
+    }
+
+    /**
+     * Crea una página vacía en el formato de la pantalla (translúcida).
+     * En un entorno sin pantalla (headless) usa ARGB premultiplicado.
+     */
+    private static BufferedImage crearPagina() {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return gc.createCompatibleImage(TAMANO_PAGINA, TAMANO_PAGINA, Transparency.TRANSLUCENT);
+        }
+        return new BufferedImage(TAMANO_PAGINA, TAMANO_PAGINA, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+}
@@ -0,0 +1,167 @@
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * CLASE DE UTILIDAD - SpritePack (Paquete Binario de Sprites)
+ *
+ * Propósito: Leer los sprites desde un único archivo binario ("sprites.pack")
+ * generado por 'SpritePacker', en vez de decodificar PNG. El archivo ya trae
+ * los píxeles en ARGB premultiplicado, así que cargar un sprite es solo copiar
+ * memoria: no hay descompresión ni conversión de color.
+ *
+ * Formato (little-endian):
+ *   int MAGIC, int VERSION, int cantidad
+ *   por cada sprite: short largoRuta, bytes UTF-8 de la ruta, int ancho, int alto, long offset
+ *   luego los píxeles de cada sprite (ancho * alto ints), a partir de su 'offset'
+ *
+ * El archivo se abre con 'FileChannel.map' (memoria mapeada): el sistema
+ * operativo lo trae del disco a medida que se lee, sin copias intermedias.
+ */
+public final class SpritePack {
+
+    // --- Bloque 1: Formato ---
+    static final int MAGIC = 0x4B505053; // "SPPK"
+    static final int VERSION = 1;
+    static final String RECURSO = "/sprites.pack"; // Dónde lo busca 'global()'
+
+    // --- Bloque 2: Datos del Paquete ---
+    private final MappedByteBuffer datos;
+    private final Map<String, long[]> indice = new HashMap<>(); // ruta -> {ancho, alto, offset}
+
+    private SpritePack(MappedByteBuffer datos) throws IOException {
+        this.datos = datos;
+        datos.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (datos.capacity() < 12 || datos.getInt(0) != MAGIC || datos.getInt(4) != VERSION) {
+            throw new IOException("No es un paquete de sprites válido (versión " + VERSION + ")");
+        }
+        int cantidad = datos.getInt(8);
+        int pos = 12;
+        try {
+            for (int i = 0; i < cantidad; i++) {
+                int largo = datos.getShort(pos) & 0xFFFF;
+                byte[] ruta = new byte[largo];
+                datos.get(pos + 2, ruta);
+                pos += 2 + largo;
+                long ancho = datos.getInt(pos);
+                long alto = datos.getInt(pos + 4);
+                long offset = datos.getLong(pos + 8);
+                pos += 16;
+                String nombre = new String(ruta, StandardCharsets.UTF_8);
+                validar(nombre, ancho, alto, offset, datos.capacity());
+                indice.put(nombre, new long[] {ancho, alto, offset});
+            }
+        } catch (IndexOutOfBoundsException e) {
+            // El índice dice tener más de lo que hay: archivo truncado
+            throw new IOException("Paquete de sprites truncado (índice incompleto)", e);
+        }
+    }
+
+    /**
+     * Comprueba que los píxeles de un sprite estén DENTRO del archivo. Así un
+     * paquete corrupto o truncado se rechaza al abrirlo (y se usan los PNG),
+     * en vez de fallar después en medio de la carga.
+     * @throws IOException si el tamaño o el offset no tienen sentido.
+     */
+    private static void validar(String ruta, long ancho, long alto, long offset, long tamanoArchivo)
+            throws IOException {
+        if (ancho <= 0 || alto <= 0 || ancho * alto > Integer.MAX_VALUE / 4
+                || offset < 0 || offset + ancho * alto * 4 > tamanoArchivo) {
+            throw new IOException("Paquete de sprites corrupto: " + ruta + " (" + ancho + "x" + alto
+                    + " en el offset " + offset + ", el archivo tiene " + tamanoArchivo + " bytes)");
+        }
+    }
+
+    /**
+     * Abre (mapea en memoria) un paquete de sprites.
+     * @throws IOException si el archivo no existe o no tiene el formato correcto.
+     */
+    public static SpritePack abrir(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            // El mapeo sigue siendo válido después de cerrar el canal
+            return new SpritePack(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+        }
+    }
+
+    // --- Bloque 3: Paquete Global ---
+    //
+    // Propósito: 'GameObject.loadSprite' consulta este paquete antes de usar
+    // ImageIO. Se busca una sola vez: primero en la propiedad del sistema
+    // 'sprites.pack', luego como recurso "/sprites.pack". Si no hay ninguno,
+    // 'global()' devuelve 'null' y todo se carga desde los PNG como siempre.
+    //
+    private static class Holder {
+        static final SpritePack GLOBAL = buscarGlobal();
+    }
+
+    /**
+     * @return El paquete global, o 'null' si no hay ninguno disponible.
+     */
+    public static SpritePack global() {
+        return Holder.GLOBAL;
+    }
+
+    private static SpritePack buscarGlobal() {
+        try {
+            Path archivo = null;
+            String propiedad = System.getProperty("sprites.pack");
+            if (propiedad != null) {
+                archivo = Paths.get(propiedad);
+            } else {
+                URL url = SpritePack.class.getResource(RECURSO);
+                // Solo se puede mapear si el recurso es un archivo real (no dentro de un JAR)
+                if (url != null && "file".equals(url.getProtocol())) {
+                    archivo = Paths.get(url.toURI());
+                }
+            }
+            if (archivo == null || !Files.isRegularFile(archivo)) return null;
+
+            SpritePack pack = abrir(archivo);
+            System.out.println("Paquete de sprites: " + archivo + " (" + pack.getCantidad() + " sprites)");
+            return pack;
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            System.err.println("No se pudo abrir el paquete de sprites; se usarán los PNG.");
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    // --- Bloque 4: Lectura de Sprites ---
+
+    /**
+     * Crea la imagen de un sprite copiando sus píxeles directamente del mapeo.
+     * @param ruta La misma ruta que se le pasaría a 'loadSprite' (ej. "/EnemyMale/Left - Running_000.png")
+     * @return La imagen (TYPE_INT_ARGB_PRE), o 'null' si el paquete no la contiene.
+     */
+    public BufferedImage obtener(String ruta) {
+        long[] entrada = indice.get(ruta);
+        if (entrada == null) return null;
+
+        int ancho = (int) entrada[0];
+        int alto = (int) entrada[1];
+        BufferedImage imagen = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_ARGB_PRE);
+        int[] pixeles = ((DataBufferInt) imagen.getRaster().getDataBuffer()).getData();
+
+        // 'slice' crea una vista propia: varios hilos pueden leer a la vez sin pisarse
+        ByteBuffer vista = datos.slice((int) entrada[2], ancho * alto * 4).order(ByteOrder.LITTLE_ENDIAN);
+        vista.asIntBuffer().get(pixeles);
+        return imagen;
+    }
+
+    public int getCantidad() { return indice.size(); }
+    public boolean contiene(String ruta) { return indice.containsKey(ruta); }
+}
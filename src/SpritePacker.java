@@ -0,0 +1,124 @@
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import javax.imageio.ImageIO;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * HERRAMIENTA - SpritePacker (Empaquetador de Sprites)
+ *
+ * Propósito: Programa aparte (NO se ejecuta durante el juego) que convierte el
+ * árbol de sprites de 'Resources/' en un único 'sprites.pack' para 'SpritePack'.
+ * Cada PNG se decodifica, se escala al tamaño pedido (por defecto el 'tileSize'
+ * del juego, 112px) y se guarda en ARGB premultiplicado.
+ *
+ * Uso: java SpritePacker [carpetaResources] [archivoSalida] [tamaño]
+ *      (por defecto: Resources Resources/sprites.pack 112)
+ */
+public class SpritePacker {
+
+    // Carpetas (relativas a Resources) que contienen sprites de personajes.
+    // "" es la raíz (los frames de correr del jugador), sin entrar en subcarpetas.
+    static final String[] CARPETAS_RECURSIVAS = {"EnemyMale", "EnemyFemale", "attackPlayer"};
+
+    public static void main(String[] args) throws IOException {
+        Path raiz = Paths.get(args.length > 0 ? args[0] : "Resources");
+        Path salida = Paths.get(args.length > 1 ? args[1] : "Resources/sprites.pack");
+        int tamano = (args.length > 2) ? Integer.parseInt(args[2]) : 112;
+
+        long inicio = System.nanoTime();
+        List<Path> archivos = buscarSprites(raiz);
+        empaquetar(raiz, archivos, salida, tamano);
+        System.out.printf("%d sprites empaquetados en %s (%d bytes) en %.1f ms%n",
+                archivos.size(), salida, Files.size(salida), (System.nanoTime() - inicio) / 1e6);
+    }
+
+    /**
+     * Lista los PNG de la raíz y de las carpetas de personajes, en orden estable.
+     */
+    static List<Path> buscarSprites(Path raiz) throws IOException {
+        List<Path> archivos = new ArrayList<>();
+        try (Stream<Path> s = Files.list(raiz)) {
+            s.filter(SpritePacker::esPng).sorted().forEach(archivos::add);
+        }
+        for (String carpeta : CARPETAS_RECURSIVAS) {
+            Path dir = raiz.resolve(carpeta);
+            if (!Files.isDirectory(dir)) continue;
+            try (Stream<Path> s = Files.walk(dir)) {
+                s.filter(SpritePacker::esPng).sorted().forEach(archivos::add);
+            }
+        }
+        return archivos;
+    }
+
+    /**
+     * Escribe el paquete: primero el índice completo, luego los píxeles.
+     */
+    static void empaquetar(Path raiz, List<Path> archivos, Path salida, int tamano) throws IOException {
+        // --- 1. Índice (las rutas son las mismas que usa 'loadSprite') ---
+        List<byte[]> rutas = new ArrayList<>();
+        int largoIndice = 12;
+        for (Path archivo : archivos) {
+            byte[] ruta = ("/" + raiz.relativize(archivo).toString().replace('\\', '/'))
+                    .getBytes(StandardCharsets.UTF_8);
+            rutas.add(ruta);
+            largoIndice += 2 + ruta.length + 16;
+        }
+
+        long bytesPorSprite = (long) tamano * tamano * 4;
+        ByteBuffer indice = ByteBuffer.allocate(largoIndice).order(ByteOrder.LITTLE_ENDIAN);
+        indice.putInt(SpritePack.MAGIC).putInt(SpritePack.VERSION).putInt(archivos.size());
+        for (int i = 0; i < archivos.size(); i++) {
+            indice.putShort((short) rutas.get(i).length).put(rutas.get(i));
+            indice.putInt(tamano).putInt(tamano).putLong(largoIndice + i * bytesPorSprite);
+        }
+        indice.flip();
+
+        // --- 2. Píxeles ---
+        ByteBuffer pixeles = ByteBuffer.allocate((int) bytesPorSprite).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel canal = FileChannel.open(salida, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            canal.write(indice);
+            for (Path archivo : archivos) {
+                pixeles.clear();
+                pixeles.asIntBuffer().put(escalar(ImageIO.read(archivo.toFile()), tamano));
+                canal.write(pixeles);
+            }
+        }
+    }
+
+    /**
+     * Escala una imagen a 'tamano' x 'tamano' en ARGB premultiplicado.
+     * @return Los píxeles, fila por fila.
+     */
+    private static int[] escalar(BufferedImage original, int tamano) {
+        BufferedImage destino = new BufferedImage(tamano, tamano, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = destino.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setComposite(AlphaComposite.Src);
+            g.drawImage(original, 0, 0, tamano, tamano, null);
+        } finally {
+            g.dispose();
+        }
+        return ((DataBufferInt) destino.getRaster().getDataBuffer()).getData();
+    }
+
+    private static boolean esPng(Path p) {
+        return Files.isRegularFile(p) && p.getFileName().toString().toLowerCase().endsWith(".png");
+    }
+}
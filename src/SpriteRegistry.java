@@ -0,0 +1,210 @@
+/**
+ * CLASE DE UTILIDAD - SpriteRegistry (Registro Central de Sprites)
+ *
+ * Propósito: Ser el ÚNICO lugar donde viven las animaciones de todos los
+ * personajes. Cada animación se identifica con una clave tipada
+ * (Personaje x Accion x Orientacion) que se convierte en un índice de un
+ * array plano: buscar una animación es una cuenta, no un 'hash' de un String.
+ *
+ * Jugador, EnemigoMasculino y EnemigoFemenino leen de aquí. Cada animación se
+ * decodifica y se guarda en el atlas UNA sola vez, sin importar cuántos
+ * jugadores o enemigos la usen.
+ */
+public class SpriteRegistry {
+
+    // --- Bloque 1: Las Claves ---
+
+    /**
+     * Cómo se obtienen los frames que miran a la IZQUIERDA.
+     * Los "Left -" del arte son (casi) el reflejo exacto de los "Right -", así
+     * que en general basta con cargar solo la DERECHA y reflejarla.
+     */
+    public enum ModoEspejo {
+        EXPLICITO,  // Se cargan los PNG "Left -" (para arte asimétrico)
+        AL_CARGAR,  // Se refleja una vez al cargar, en celdas nuevas del atlas (media decodificación)
+        AL_DIBUJAR  // Se refleja al dibujar (media decodificación y media memoria)
+    }
+
+    /**
+     * Cada personaje con sprites propios: dónde están sus archivos, cuántos
+     * frames tiene y cómo se obtiene la orientación IZQUIERDA de cada acción.
+     * Todos reflejan AL_CARGAR: con AL_DIBUJAR cada sprite que mira a la
+     * izquierda es un 'drawImage' con escala negativa, y Java2D crea una
+     * transformación (y sus arrays) en CADA uno: basura en cada frame.
+     * Las celdas extra del atlas se pagan una vez; la basura, siempre.
+     */
+    public enum Personaje {
+        JUGADOR("/", "/attackPlayer/", 12, 10, ModoEspejo.AL_CARGAR, ModoEspejo.AL_CARGAR),
+        ENEMIGO_MASCULINO("/EnemyMale/", "/EnemyMale/attackEnemyMale/", 12, 10, ModoEspejo.AL_CARGAR, ModoEspejo.AL_CARGAR),
+        ENEMIGO_FEMENINO("/EnemyFemale/", "/EnemyFemale/attackEnemyFemale/", 12, 10, ModoEspejo.AL_CARGAR, ModoEspejo.AL_CARGAR);
+
+        final String carpetaCorrer;
+        final String carpetaAtaque;
+        public final int numFramesCorrer;
+        public final int numFramesAtacar;
+        final ModoEspejo espejoCorrer;
+        final ModoEspejo espejoAtaque;
+
+        Personaje(String carpetaCorrer, String carpetaAtaque, int numFramesCorrer, int numFramesAtacar,
+                  ModoEspejo espejoCorrer, ModoEspejo espejoAtaque) {
+            this.carpetaCorrer = carpetaCorrer;
+            this.carpetaAtaque = carpetaAtaque;
+            this.numFramesCorrer = numFramesCorrer;
+            this.numFramesAtacar = numFramesAtacar;
+            this.espejoCorrer = espejoCorrer;
+            this.espejoAtaque = espejoAtaque;
+        }
+
+        public int numFrames(Accion accion) {
+            return (accion == Accion.ATACAR) ? numFramesAtacar : numFramesCorrer;
+        }
+
+        public ModoEspejo modoEspejo(Accion accion) {
+            return (accion == Accion.ATACAR) ? espejoAtaque : espejoCorrer;
+        }
+    }
+
+    /** Qué está haciendo el personaje (y qué archivos usa: "Running" o "Attacking"). */
+    public enum Accion {
+        CORRER("Running"), ATACAR("Attacking");
+
+        final String nombreArchivo;
+
+        Accion(String nombreArchivo) { this.nombreArchivo = nombreArchivo; }
+    }
+
+    /** Hacia dónde mira el personaje (y el prefijo de sus archivos: "Right" o "Left"). */
+    public enum Orientacion {
+        DERECHA("Right"), IZQUIERDA("Left");
+
+        final String prefijoArchivo;
+
+        Orientacion(String prefijoArchivo) { this.prefijoArchivo = prefijoArchivo; }
+    }
+
+    private static final Personaje[] PERSONAJES = Personaje.values();
+    private static final Accion[] ACCIONES = Accion.values();
+    private static final Orientacion[] ORIENTACIONES = Orientacion.values();
+
+    // --- Bloque 2: Almacenamiento ---
+    private final SpriteAtlas atlas;
+    private final int[][] animaciones = new int[PERSONAJES.length * ACCIONES.length * ORIENTACIONES.length][];
+
+    public SpriteRegistry(SpriteAtlas atlas) {
+        this.atlas = atlas;
+    }
+
+    /**
+     * Convierte la clave tipada en la posición dentro del array plano.
+     */
+    static int indice(Personaje p, Accion a, Orientacion o) {
+        return (p.ordinal() * ACCIONES.length + a.ordinal()) * ORIENTACIONES.length + o.ordinal();
+    }
+
+    // --- Bloque 3: Carga ---
+
+    /**
+     * Encola en el 'AssetLoader' las orientaciones de una acción que haya que
+     * decodificar (solo la DERECHA si la izquierda se obtiene reflejándola).
+     * Vuelve enseguida; la decodificación ocurre en paralelo.
+     */
+    public void encolar(AssetLoader assets, Personaje p, Accion a) {
+        for (Orientacion o : ORIENTACIONES) {
+            if (o == Orientacion.IZQUIERDA && p.modoEspejo(a) != ModoEspejo.EXPLICITO) continue;
+            String carpeta = (a == Accion.ATACAR) ? p.carpetaAtaque : p.carpetaCorrer;
+            String patron = carpeta + o.prefijoArchivo + " - " + a.nombreArchivo + "_%03d.png";
+            assets.cargarAnimacion(claveCarga(p, a, o), patron, p.numFrames(a));
+        }
+    }
+
+    /**
+     * Pasa al atlas las dos orientaciones de una acción (esperando a que el
+     * 'AssetLoader' termine de decodificarlas). Si ya estaban registradas, no
+     * hace nada: así nunca hay copias duplicadas en el atlas.
+     * La IZQUIERDA se carga, se refleja o se marca con ESPEJO según 'modoEspejo'.
+     */
+    public synchronized void cargar(AssetLoader assets, Personaje p, Accion a) {
+        int derecha = indice(p, a, Orientacion.DERECHA);
+        if (animaciones[derecha] == null) {
+            animaciones[derecha] = atlas.agregarTodos(assets.obtener(claveCarga(p, a, Orientacion.DERECHA)));
+        }
+
+        int izquierda = indice(p, a, Orientacion.IZQUIERDA);
+        if (animaciones[izquierda] != null) return;
+
+        int[] base = animaciones[derecha];
+        int[] frames = new int[base.length];
+        switch (p.modoEspejo(a)) {
+            case EXPLICITO:
+                frames = atlas.agregarTodos(assets.obtener(claveCarga(p, a, Orientacion.IZQUIERDA)));
+                break;
+            case AL_CARGAR:
+                for (int n = 0; n < base.length; n++) frames[n] = atlas.agregarEspejo(base[n]);
+                break;
+            case AL_DIBUJAR:
+                // Mismos frames que la derecha, marcados para dibujarse reflejados
+                for (int n = 0; n < base.length; n++) {
+                    frames[n] = (base[n] == SpriteAtlas.SIN_FRAME) ? SpriteAtlas.SIN_FRAME : base[n] | SpriteAtlas.ESPEJO;
+                }
+                break;
+        }
+        animaciones[izquierda] = frames;
+    }
+
+    private static String claveCarga(Personaje p, Accion a, Orientacion o) {
+        return p.name() + "/" + a.name() + "/" + o.name();
+    }
+
+    // --- Bloque 4: Consulta ---
+
+    /**
+     * @return Los ids (en el atlas) de los frames de una animación, o 'null' si no se cargó.
+     */
+    public int[] obtener(Personaje p, Accion a, Orientacion o) {
+        return animaciones[indice(p, a, o)];
+    }
+
+    /**
+     * @return El id del frame 'n' de una animación, o SIN_FRAME si no existe.
+     */
+    public int frame(Personaje p, Accion a, Orientacion o, int n) {
+        int[] frames = animaciones[indice(p, a, o)];
+        if (frames == null || n < 0 || n >= frames.length) return SpriteAtlas.SIN_FRAME;
+        return frames[n];
+    }
+
+    public boolean estaCargado(Personaje p, Accion a) {
+        for (Orientacion o : ORIENTACIONES) {
+            if (animaciones[indice(p, a, o)] == null) return false;
+        }
+        return true;
+    }
+
+    public SpriteAtlas getAtlas() { return atlas; }
+
+    // --- Bloque 5: Memoria ---
+
+    /**
+     * Memoria aproximada usada por los sprites: las páginas del atlas más
+     * los arrays de ids (4 bytes por frame + ~16 bytes de cabecera por array).
+     */
+    public long getBytes() {
+        long bytes = atlas.getBytes();
+        for (int[] frames : animaciones) {
+            if (frames != null) bytes += 16 + frames.length * 4L;
+        }
+        return bytes;
+    }
+
+    /**
+     * Imprime cuántas animaciones y frames hay cargados y cuánta memoria usan.
+     */
+    public void imprimirMemoria() {
+        int cargadas = 0;
+        for (int[] frames : animaciones) {
+            if (frames != null) cargadas++;
+        }
+        System.out.printf("Sprites: %d animaciones, %d frames en %d página(s), %.1f MB%n",
+                cargadas, atlas.getCantidadFrames(), atlas.getCantidadPaginas(), getBytes() / (1024.0 * 1024.0));
+    }
+}